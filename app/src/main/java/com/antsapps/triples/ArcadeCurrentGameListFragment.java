@@ -10,16 +10,16 @@ import android.widget.ArrayAdapter;
 import android.widget.TextView;
 
 import com.antsapps.triples.backend.ArcadeGame;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.google.common.collect.Lists;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public class ArcadeCurrentGameListFragment extends BaseCurrentGameListFragment {
-  protected static class CurrentGamesArrayAdapter extends ArrayAdapter<Game> {
+  protected static class CurrentGamesArrayAdapter extends ArrayAdapter<GameSummary> {
 
-    public CurrentGamesArrayAdapter(Context context, List<Game> games) {
+    public CurrentGamesArrayAdapter(Context context, List<GameSummary> games) {
       super(context, R.layout.game_list_item, games);
     }
 
@@ -32,7 +32,7 @@ public class ArcadeCurrentGameListFragment extends BaseCurrentGameListFragment {
         v = vi.inflate(R.layout.game_list_item, null);
       }
 
-      ArcadeGame g = (ArcadeGame) getItem(position);
+      GameSummary g = getItem(position);
       if (g != null) {
         ((TextView) v.findViewById(R.id.time))
             .setText(
@@ -49,8 +49,9 @@ public class ArcadeCurrentGameListFragment extends BaseCurrentGameListFragment {
   }
 
   @Override
-  protected ArrayAdapter<Game> createArrayAdapter() {
-    return new CurrentGamesArrayAdapter(getActivity(), Lists.<Game>newArrayList(getCurrentGames()));
+  protected ArrayAdapter<GameSummary> createArrayAdapter() {
+    return new CurrentGamesArrayAdapter(
+        getActivity(), Lists.<GameSummary>newArrayList(getCurrentGames()));
   }
 
   @Override
@@ -64,15 +65,15 @@ public class ArcadeCurrentGameListFragment extends BaseCurrentGameListFragment {
     return view;
   }
 
-  protected void deleteGame(Game game) {
-    mApplication.deleteArcadeGame((ArcadeGame) game);
+  protected void deleteGame(GameSummary game) {
+    mApplication.deleteArcadeGame(game);
   }
 
   protected Class<? extends BaseGameActivity> getGameActivityClass() {
     return ArcadeGameActivity.class;
   }
 
-  protected Iterable<ArcadeGame> getCurrentGames() {
+  protected Iterable<GameSummary> getCurrentGames() {
     return mApplication.getCurrentArcadeGames();
   }
 }
@@ -18,7 +18,6 @@ import com.google.android.gms.games.Games;
 import com.google.android.gms.games.GamesStatusCodes;
 import com.google.android.gms.games.leaderboard.LeaderboardVariant;
 import com.google.android.gms.games.leaderboard.Leaderboards;
-import com.google.common.collect.ImmutableList;
 
 import java.util.concurrent.TimeUnit;
 
@@ -76,11 +75,7 @@ public class ArcadeGameActivity extends BaseGameActivity
   }
 
   @Override
-  public void onUpdateCardsInPlay(
-      ImmutableList<Card> newCards,
-      ImmutableList<Card> oldCards,
-      int numRemaining,
-      int numTriplesFound) {
+  public void onUpdateCardsInPlay(long changedSlots, int numRemaining, int numTriplesFound) {
     TextView triplesFound = (TextView) findViewById(R.id.triples_found_text);
     triplesFound.setText(String.valueOf(numTriplesFound));
   }
@@ -139,7 +134,8 @@ public class ArcadeGameActivity extends BaseGameActivity
 
   @Override
   protected Intent createNewGame() {
-    ArcadeGame game = ArcadeGame.createFromSeed(System.currentTimeMillis());
+    ArcadeGame game =
+        ArcadeGame.createFromSeed(System.currentTimeMillis(), mApplication.getClock());
     mApplication.addArcadeGame(game);
     Intent newGameIntent = new Intent(getBaseContext(), ArcadeGameActivity.class);
     newGameIntent.putExtra(Game.ID_TAG, game.getId());
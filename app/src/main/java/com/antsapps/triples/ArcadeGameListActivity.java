@@ -32,7 +32,8 @@ public class ArcadeGameListActivity extends BaseGameListActivity {
 
   @Override
   protected Intent createNewGame() {
-    ArcadeGame game = ArcadeGame.createFromSeed(System.currentTimeMillis());
+    ArcadeGame game =
+        ArcadeGame.createFromSeed(System.currentTimeMillis(), mApplication.getClock());
     mApplication.addArcadeGame(game);
     Intent newGameIntent = new Intent(getBaseContext(), ArcadeGameActivity.class);
     newGameIntent.putExtra(Game.ID_TAG, game.getId());
@@ -8,6 +8,7 @@ import android.view.ViewGroup;
 import android.widget.AdapterView;
 
 import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.OnStateChangedListener;
 
 public abstract class BaseCurrentGameListFragment extends BaseGameListFragment
@@ -22,7 +23,7 @@ public abstract class BaseCurrentGameListFragment extends BaseGameListFragment
             new AdapterView.OnItemClickListener() {
               @Override
               public void onItemClick(AdapterView<?> parent, View view, int position, long id) {
-                Game game = (Game) parent.getItemAtPosition(position);
+                GameSummary game = (GameSummary) parent.getItemAtPosition(position);
                 if (game != null) {
                   Intent intent = new Intent(view.getContext(), getGameActivityClass());
                   intent.putExtra(Game.ID_TAG, game.getId());
@@ -41,12 +42,12 @@ public abstract class BaseCurrentGameListFragment extends BaseGameListFragment
     return view;
   }
 
-  protected abstract Iterable<? extends Game> getCurrentGames();
+  protected abstract Iterable<? extends GameSummary> getCurrentGames();
 
   @Override
   protected void updateDataSet() {
     mAdapter.clear();
-    for (Game game : getCurrentGames()) {
+    for (GameSummary game : getCurrentGames()) {
       mAdapter.add(game);
     }
     mAdapter.notifyDataSetChanged();
@@ -14,6 +14,7 @@ import android.view.View;
 import android.view.WindowManager;
 import android.widget.ViewAnimator;
 
+import com.antsapps.triples.backend.Application;
 import com.antsapps.triples.backend.Game;
 import com.antsapps.triples.backend.Game.GameState;
 import com.antsapps.triples.backend.Game.OnUpdateGameStateListener;
@@ -159,6 +160,17 @@ public abstract class BaseGameActivity extends BaseTriplesActivity
 
   protected abstract void saveGame();
 
+  /**
+   * Waits for the save made in {@link #onPause} to reach the disk, as the process can be killed
+   * without warning once the activity is stopped. Pausing only queues the save, so that the game
+   * isn't held up when it is just covered by a dialog.
+   */
+  @Override
+  protected void onStop() {
+    super.onStop();
+    Application.getInstance(this).flush();
+  }
+
   @Override
   protected void onSaveInstanceState(Bundle outState) {
     super.onSaveInstanceState(outState);
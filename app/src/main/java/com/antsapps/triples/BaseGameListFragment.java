@@ -12,13 +12,13 @@ import android.widget.AdapterView.OnItemLongClickListener;
 import android.widget.ArrayAdapter;
 
 import com.antsapps.triples.backend.Application;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.OnStateChangedListener;
 
 public abstract class BaseGameListFragment extends ListFragment implements OnStateChangedListener {
 
   protected Application mApplication;
-  protected ArrayAdapter<Game> mAdapter;
+  protected ArrayAdapter<GameSummary> mAdapter;
 
   @Override
   public void onCreate(Bundle savedInstanceState) {
@@ -45,7 +45,7 @@ public abstract class BaseGameListFragment extends ListFragment implements OnSta
                   AdapterView<?> parent, View view, final int position, long id) {
                 vibrator.vibrate(50);
                 AlertDialog alert =
-                    createDeleteAlertDialog((Game) parent.getItemAtPosition(position));
+                    createDeleteAlertDialog((GameSummary) parent.getItemAtPosition(position));
                 alert.show();
                 return true;
               }
@@ -65,9 +65,9 @@ public abstract class BaseGameListFragment extends ListFragment implements OnSta
     mApplication.removeOnStateChangedListener(this);
   }
 
-  protected abstract ArrayAdapter<Game> createArrayAdapter();
+  protected abstract ArrayAdapter<GameSummary> createArrayAdapter();
 
-  private AlertDialog createDeleteAlertDialog(final Game game) {
+  private AlertDialog createDeleteAlertDialog(final GameSummary game) {
     AlertDialog.Builder builder = new AlertDialog.Builder(getActivity());
     builder.setCancelable(true);
     builder.setTitle(R.string.delete);
@@ -93,7 +93,7 @@ public abstract class BaseGameListFragment extends ListFragment implements OnSta
     return alert;
   }
 
-  protected abstract void deleteGame(Game game);
+  protected abstract void deleteGame(GameSummary game);
 
   @Override
   public void onStateChanged() {
@@ -9,8 +9,7 @@ import android.view.ViewGroup;
 import android.widget.ArrayAdapter;
 import android.widget.TextView;
 
-import com.antsapps.triples.backend.ClassicGame;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.google.common.collect.Lists;
 
 import java.util.List;
@@ -18,9 +17,9 @@ import java.util.concurrent.TimeUnit;
 
 /** Created by anthony on 1/12/13. */
 public class ClassicCurrentGameListFragment extends BaseCurrentGameListFragment {
-  protected static class CurrentGamesArrayAdapter extends ArrayAdapter<Game> {
+  protected static class CurrentGamesArrayAdapter extends ArrayAdapter<GameSummary> {
 
-    public CurrentGamesArrayAdapter(Context context, List<Game> games) {
+    public CurrentGamesArrayAdapter(Context context, List<GameSummary> games) {
       super(context, R.layout.game_list_item, games);
     }
 
@@ -33,7 +32,7 @@ public class ClassicCurrentGameListFragment extends BaseCurrentGameListFragment
         v = vi.inflate(R.layout.game_list_item, null);
       }
 
-      Game g = getItem(position);
+      GameSummary g = getItem(position);
       if (g != null) {
         ((TextView) v.findViewById(R.id.time))
             .setText(
@@ -59,19 +58,20 @@ public class ClassicCurrentGameListFragment extends BaseCurrentGameListFragment
   }
 
   @Override
-  protected ArrayAdapter<Game> createArrayAdapter() {
-    return new CurrentGamesArrayAdapter(getActivity(), Lists.<Game>newArrayList(getCurrentGames()));
+  protected ArrayAdapter<GameSummary> createArrayAdapter() {
+    return new CurrentGamesArrayAdapter(
+        getActivity(), Lists.<GameSummary>newArrayList(getCurrentGames()));
   }
 
-  protected void deleteGame(Game game) {
-    mApplication.deleteClassicGame((ClassicGame) game);
+  protected void deleteGame(GameSummary game) {
+    mApplication.deleteClassicGame(game);
   }
 
   protected Class<? extends BaseGameActivity> getGameActivityClass() {
     return ClassicGameActivity.class;
   }
 
-  protected Iterable<ClassicGame> getCurrentGames() {
+  protected Iterable<GameSummary> getCurrentGames() {
     return mApplication.getCurrentClassicGames();
   }
 }
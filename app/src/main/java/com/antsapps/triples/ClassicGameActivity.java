@@ -18,7 +18,6 @@ import com.google.android.gms.games.Games;
 import com.google.android.gms.games.GamesStatusCodes;
 import com.google.android.gms.games.leaderboard.LeaderboardVariant;
 import com.google.android.gms.games.leaderboard.Leaderboards;
-import com.google.common.collect.ImmutableList;
 
 import java.util.concurrent.TimeUnit;
 
@@ -74,11 +73,7 @@ public class ClassicGameActivity extends BaseGameActivity
   }
 
   @Override
-  public void onUpdateCardsInPlay(
-      ImmutableList<Card> newCards,
-      ImmutableList<Card> oldCards,
-      int numRemaining,
-      int numTriplesFound) {
+  public void onUpdateCardsInPlay(long changedSlots, int numRemaining, int numTriplesFound) {
     TextView numRemainingText = (TextView) findViewById(R.id.cards_remaining_text);
     numRemainingText.setText(String.valueOf(numRemaining));
   }
@@ -136,7 +131,8 @@ public class ClassicGameActivity extends BaseGameActivity
 
   @Override
   protected Intent createNewGame() {
-    ClassicGame game = ClassicGame.createFromSeed(System.currentTimeMillis());
+    ClassicGame game =
+        ClassicGame.createFromSeed(System.currentTimeMillis(), mApplication.getClock());
     mApplication.addClassicGame(game);
     Intent newGameIntent = new Intent(getBaseContext(), ClassicGameActivity.class);
     newGameIntent.putExtra(Game.ID_TAG, game.getId());
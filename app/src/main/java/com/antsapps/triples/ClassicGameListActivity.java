@@ -32,7 +32,8 @@ public class ClassicGameListActivity extends BaseGameListActivity {
 
   @Override
   protected Intent createNewGame() {
-    ClassicGame game = ClassicGame.createFromSeed(System.currentTimeMillis());
+    ClassicGame game =
+        ClassicGame.createFromSeed(System.currentTimeMillis(), mApplication.getClock());
     mApplication.addClassicGame(game);
     Intent newGameIntent = new Intent(getBaseContext(), ClassicGameActivity.class);
     newGameIntent.putExtra(Game.ID_TAG, game.getId());
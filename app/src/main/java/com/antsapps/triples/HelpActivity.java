@@ -112,7 +112,7 @@ public class HelpActivity extends Activity implements OnValidTripleSelectedListe
       card1 = createRandomCard(random);
     }
     Card card2 =
-        new Card(
+        Card.of(
             getValidProperty(card0.mNumber, card1.mNumber),
             getValidProperty(card0.mShape, card1.mShape),
             getValidProperty(card0.mPattern, card1.mPattern),
@@ -122,7 +122,7 @@ public class HelpActivity extends Activity implements OnValidTripleSelectedListe
   }
 
   private static Card createRandomCard(Random random) {
-    return new Card(
+    return Card.of(
         random.nextInt(MAX_VARIABLES),
         random.nextInt(MAX_VARIABLES),
         random.nextInt(MAX_VARIABLES),
@@ -5,25 +5,44 @@ import android.util.Log;
 
 import com.antsapps.triples.backend.Game.GameState;
 import com.google.common.base.Predicate;
-import com.google.common.collect.Iterables;
+import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 public class Application extends OnStateChangedReporter {
   private static final String TAG = "Application";
 
   private static Application INSTANCE;
 
-  // Should remain sorted
-  private final List<ClassicGame> mClassicGames = Lists.newArrayList();
-  private final List<ArcadeGame> mArcadeGames = Lists.newArrayList();
+  private static final Predicate<GameSummary> IS_CURRENT =
+      new Predicate<GameSummary>() {
+        @Override
+        public boolean apply(GameSummary game) {
+          return game.getGameState() == GameState.ACTIVE
+              || game.getGameState() == GameState.PAUSED;
+        }
+      };
 
-  public final DBAdapter database;
+  // Should remain sorted. Only current games are kept; completed games are read from the
+  // database a period at a time for the statistics.
+  private final List<GameSummary> mClassicGames = Lists.newArrayList();
+  private final List<GameSummary> mArcadeGames = Lists.newArrayList();
+
+  /** The games that have been opened, by id. Other games are only loaded when they're opened. */
+  private final Map<Long, ClassicGame> mOpenClassicGames = Maps.newHashMap();
+  private final Map<Long, ArcadeGame> mOpenArcadeGames = Maps.newHashMap();
+
+  private final Clock mClock = new HandlerClock();
+
+  public final WriteBehindGameStore database;
 
   private Application(Context context) {
     super();
-    database = new DBAdapter(context);
+    database = new WriteBehindGameStore(new DBAdapter(context, mClock));
     database.initialize(mClassicGames, mArcadeGames);
   }
 
@@ -34,111 +53,142 @@ public class Application extends OnStateChangedReporter {
     return INSTANCE;
   }
 
+  /** The clock that games shown in the app should use. */
+  public Clock getClock() {
+    return mClock;
+  }
+
+  /**
+   * Blocks until every game saved so far is on disk. Saves are otherwise written in the
+   * background, so call this when the process may be about to go away.
+   */
+  public void flush() {
+    database.flush();
+  }
+
   public void addClassicGame(ClassicGame game) {
     game.setId(database.addClassicGame(game));
-    mClassicGames.add(game);
+    mOpenClassicGames.put(game.getId(), game);
+    updateSummary(mClassicGames, game.getSummary());
     Log.i(TAG, "addGame. now mClassicGames = " + mClassicGames);
     notifyStateChanged();
   }
 
   public void saveClassicGame(ClassicGame game) {
     database.updateClassicGame(game);
+    updateSummary(mClassicGames, game.getSummary());
+    if (game.getGameState() == GameState.COMPLETED) {
+      // Completed games are only shown in the statistics, which read them from the database.
+      mOpenClassicGames.remove(game.getId());
+    }
     notifyStateChanged();
   }
 
-  public void deleteClassicGame(ClassicGame game) {
-    mClassicGames.remove(game);
-    database.removeClassicGame(game);
+  public void deleteClassicGame(GameSummary game) {
+    removeSummary(mClassicGames, game.getId());
+    mOpenClassicGames.remove(game.getId());
+    database.removeClassicGame(game.getId());
     notifyStateChanged();
   }
 
+  /** Returns the game with the given id, loading it if it hasn't been opened yet. */
   public ClassicGame getClassicGame(long id) {
-    for (ClassicGame game : mClassicGames) {
-      if (game.getId() == id) {
-        return game;
+    ClassicGame game = mOpenClassicGames.get(id);
+    if (game == null) {
+      game = database.loadClassicGame(id);
+      if (game != null) {
+        mOpenClassicGames.put(id, game);
       }
     }
-    return null;
+    return game;
   }
 
-  public Iterable<ClassicGame> getCurrentClassicGames() {
-    return Iterables.filter(
-        mClassicGames,
-        new Predicate<Game>() {
-          @Override
-          public boolean apply(Game game) {
-            return game.getGameState() == GameState.ACTIVE
-                || game.getGameState() == GameState.PAUSED;
-          }
-        });
+  public Iterable<GameSummary> getCurrentClassicGames() {
+    return Collections.unmodifiableList(mClassicGames);
   }
 
-  public Iterable<ClassicGame> getCompletedClassicGames() {
-    return Iterables.filter(
-        mClassicGames,
-        new Predicate<Game>() {
+  /**
+   * Returns the statistics for the period. The totals come from the database's daily totals, and
+   * the games themselves are only read if they're asked for.
+   */
+  public ClassicStatistics getClassicStatistics(final Period period) {
+    return new ClassicStatistics(
+        new Supplier<List<GameSummary>>() {
           @Override
-          public boolean apply(Game game) {
-            return game.getGameState() == GameState.COMPLETED;
+          public List<GameSummary> get() {
+            return database.getCompletedClassicGames(period);
           }
-        });
-  }
-
-  public ClassicStatistics getClassicStatistics(Period period) {
-    return new ClassicStatistics(getCompletedClassicGames(), period);
+        },
+        database.getClassicTotals(period));
   }
 
   public void addArcadeGame(ArcadeGame game) {
     game.setId(database.addArcadeGame(game));
-    mArcadeGames.add(game);
+    mOpenArcadeGames.put(game.getId(), game);
+    updateSummary(mArcadeGames, game.getSummary());
     Log.i(TAG, "addGame. now mArcadeGames = " + mArcadeGames);
     notifyStateChanged();
   }
 
   public void saveArcadeGame(ArcadeGame game) {
     database.updateArcadeGame(game);
+    updateSummary(mArcadeGames, game.getSummary());
+    if (game.getGameState() == GameState.COMPLETED) {
+      mOpenArcadeGames.remove(game.getId());
+    }
     notifyStateChanged();
   }
 
-  public void deleteArcadeGame(ArcadeGame game) {
-    mArcadeGames.remove(game);
-    database.removeArcadeGame(game);
+  public void deleteArcadeGame(GameSummary game) {
+    removeSummary(mArcadeGames, game.getId());
+    mOpenArcadeGames.remove(game.getId());
+    database.removeArcadeGame(game.getId());
     notifyStateChanged();
   }
 
+  /** Returns the game with the given id, loading it if it hasn't been opened yet. */
   public ArcadeGame getArcadeGame(long id) {
-    for (ArcadeGame game : mArcadeGames) {
-      if (game.getId() == id) {
-        return game;
+    ArcadeGame game = mOpenArcadeGames.get(id);
+    if (game == null) {
+      game = database.loadArcadeGame(id);
+      if (game != null) {
+        mOpenArcadeGames.put(id, game);
       }
     }
-    return null;
+    return game;
   }
 
-  public Iterable<ArcadeGame> getCurrentArcadeGames() {
-    return Iterables.filter(
-        mArcadeGames,
-        new Predicate<Game>() {
-          @Override
-          public boolean apply(Game game) {
-            return game.getGameState() == GameState.ACTIVE
-                || game.getGameState() == GameState.PAUSED;
-          }
-        });
+  public Iterable<GameSummary> getCurrentArcadeGames() {
+    return Collections.unmodifiableList(mArcadeGames);
   }
 
-  public Iterable<ArcadeGame> getCompletedArcadeGames() {
-    return Iterables.filter(
-        mArcadeGames,
-        new Predicate<Game>() {
+  /** Returns the statistics for the period, like {@link #getClassicStatistics}. */
+  public ArcadeStatistics getArcadeStatistics(final Period period) {
+    return new ArcadeStatistics(
+        new Supplier<List<GameSummary>>() {
           @Override
-          public boolean apply(Game game) {
-            return game.getGameState() == GameState.COMPLETED;
+          public List<GameSummary> get() {
+            return database.getCompletedArcadeGames(period);
           }
-        });
+        },
+        database.getArcadeTotals(period));
   }
 
-  public ArcadeStatistics getArcadeStatistics(Period period) {
-    return new ArcadeStatistics(getCompletedArcadeGames(), period);
+  /** Replaces the summary with the same id if the game is still current, keeping the order. */
+  private static void updateSummary(List<GameSummary> games, GameSummary summary) {
+    removeSummary(games, summary.getId());
+    if (IS_CURRENT.apply(summary)) {
+      int i = Collections.binarySearch(games, summary);
+      games.add(i < 0 ? -i - 1 : i, summary);
+    }
+  }
+
+  private static void removeSummary(List<GameSummary> games, long id) {
+    for (int i = 0; i < games.size(); i++) {
+      if (games.get(i).getId() == id) {
+        games.remove(i);
+        return;
+      }
+    }
   }
 }
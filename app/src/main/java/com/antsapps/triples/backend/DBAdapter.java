@@ -1,20 +1,21 @@
 package com.antsapps.triples.backend;
 
-import android.content.ContentValues;
 import android.content.Context;
 import android.database.Cursor;
 import android.database.SQLException;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
 import android.util.Log;
 
 import com.antsapps.triples.backend.Game.GameState;
+import com.google.common.collect.Lists;
 
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
-public class DBAdapter extends SQLiteOpenHelper {
+public class DBAdapter extends SQLiteOpenHelper implements GameStore {
   public static final String TABLE_CLASSIC_GAMES = "games";
   public static final String TABLE_ARCADE_GAMES = "arcade_games";
   public static final String COLUMN_GAME_ID = "game_id";
@@ -25,10 +26,21 @@ public class DBAdapter extends SQLiteOpenHelper {
   public static final String COLUMN_TIME_ELAPSED = "time_elapsed";
   public static final String COLUMN_DATE = "date";
   public static final String COLUMN_NUM_TRIPLES_FOUND = "num_triples_found"; // ARCADE only
+  public static final String TABLE_DAILY_STATISTICS = "daily_statistics";
+  public static final String COLUMN_GAME_TABLE = "game_table";
+  public static final String COLUMN_DAY = "day";
+  public static final String COLUMN_NUM_GAMES = "num_games";
+  public static final String COLUMN_RESULT_SUM = "result_sum";
+  public static final String COLUMN_RESULT_MIN = "result_min";
+  public static final String COLUMN_RESULT_MIN_DATE = "result_min_date";
+  public static final String COLUMN_RESULT_MAX = "result_max";
+  public static final String COLUMN_RESULT_MAX_DATE = "result_max_date";
+  public static final String COLUMN_FIRST_DATE = "first_date";
+  public static final String COLUMN_LAST_DATE = "last_date";
   /** The name of the database file on the file system */
   private static final String DATABASE_NAME = "Triples.db";
   /** The version of the database that this class understands. */
-  private static final int DATABASE_VERSION = 4;
+  private static final int DATABASE_VERSION = 6;
 
   private static final String CREATE_CLASSIC_GAMES =
       "CREATE TABLE "
@@ -68,11 +80,420 @@ public class DBAdapter extends SQLiteOpenHelper {
           + " INTEGER, " //
           + COLUMN_NUM_TRIPLES_FOUND
           + " INTEGER)";
+  /**
+   * Completed games are read a period at a time, by date, and the lists of current games only
+   * read active and paused games, so both tables are indexed by state and date. The indexes by
+   * state and result are for ordering completed games by how well they went.
+   */
+  private static final String[] CREATE_INDEXES =
+      new String[] {
+        "CREATE INDEX games_state_date ON "
+            + TABLE_CLASSIC_GAMES
+            + " ("
+            + COLUMN_GAME_STATE
+            + ", "
+            + COLUMN_DATE
+            + ")",
+        "CREATE INDEX games_state_time_elapsed ON "
+            + TABLE_CLASSIC_GAMES
+            + " ("
+            + COLUMN_GAME_STATE
+            + ", "
+            + COLUMN_TIME_ELAPSED
+            + ")",
+        "CREATE INDEX arcade_games_state_date ON "
+            + TABLE_ARCADE_GAMES
+            + " ("
+            + COLUMN_GAME_STATE
+            + ", "
+            + COLUMN_DATE
+            + ")",
+        "CREATE INDEX arcade_games_state_num_triples_found ON "
+            + TABLE_ARCADE_GAMES
+            + " ("
+            + COLUMN_GAME_STATE
+            + ", "
+            + COLUMN_NUM_TRIPLES_FOUND
+            + ")"
+      };
+  /**
+   * The {@link StatisticsTotals} of the completed games in each table for each day, so that
+   * statistics for a long period add up a row per day rather than reading every game. A day's row
+   * is added to when a game started that day is completed, in the same transaction, and worked
+   * out again from the games when one of them is removed.
+   */
+  private static final String CREATE_DAILY_STATISTICS =
+      "CREATE TABLE "
+          + TABLE_DAILY_STATISTICS
+          + "("
+          + COLUMN_GAME_TABLE
+          + " TEXT, " //
+          + COLUMN_DAY
+          + " INTEGER, " //
+          + COLUMN_NUM_GAMES
+          + " INTEGER, " //
+          + COLUMN_RESULT_SUM
+          + " INTEGER, " //
+          + COLUMN_RESULT_MIN
+          + " INTEGER, " //
+          + COLUMN_RESULT_MIN_DATE
+          + " INTEGER, " //
+          + COLUMN_RESULT_MAX
+          + " INTEGER, " //
+          + COLUMN_RESULT_MAX_DATE
+          + " INTEGER, " //
+          + COLUMN_FIRST_DATE
+          + " INTEGER, " //
+          + COLUMN_LAST_DATE
+          + " INTEGER, " //
+          + "PRIMARY KEY ("
+          + COLUMN_GAME_TABLE
+          + ", "
+          + COLUMN_DAY
+          + "))";
+  private static final String DAILY_STATISTICS_COLUMNS =
+      COLUMN_GAME_TABLE
+          + ", "
+          + COLUMN_DAY
+          + ", "
+          + COLUMN_NUM_GAMES
+          + ", "
+          + COLUMN_RESULT_SUM
+          + ", "
+          + COLUMN_RESULT_MIN
+          + ", "
+          + COLUMN_RESULT_MIN_DATE
+          + ", "
+          + COLUMN_RESULT_MAX
+          + ", "
+          + COLUMN_RESULT_MAX_DATE
+          + ", "
+          + COLUMN_FIRST_DATE
+          + ", "
+          + COLUMN_LAST_DATE;
+  /** Adds an empty row for a day, with the values of an empty {@link StatisticsTotals}. */
+  private static final String INSERT_DAY =
+      "INSERT OR IGNORE INTO "
+          + TABLE_DAILY_STATISTICS
+          + " ("
+          + DAILY_STATISTICS_COLUMNS
+          + ") VALUES (?, ?, 0, 0, "
+          + Long.MAX_VALUE
+          + ", 0, 0, 0, "
+          + Long.MAX_VALUE
+          + ", 0)";
+  /**
+   * Adds a game, with result ?1 and date ?2, to a day's row, the same way as {@link
+   * StatisticsTotals#add(long, long)}. Every assignment sees the row as it was before the update.
+   */
+  private static final String ADD_TO_DAY =
+      "UPDATE "
+          + TABLE_DAILY_STATISTICS
+          + " SET "
+          + COLUMN_NUM_GAMES
+          + " = "
+          + COLUMN_NUM_GAMES
+          + " + 1, "
+          + COLUMN_RESULT_SUM
+          + " = "
+          + COLUMN_RESULT_SUM
+          + " + ?1, "
+          + COLUMN_RESULT_MIN_DATE
+          + " = CASE WHEN ?1 < "
+          + COLUMN_RESULT_MIN
+          + " OR (?1 = "
+          + COLUMN_RESULT_MIN
+          + " AND ?2 < "
+          + COLUMN_RESULT_MIN_DATE
+          + ") THEN ?2 ELSE "
+          + COLUMN_RESULT_MIN_DATE
+          + " END, "
+          + COLUMN_RESULT_MIN
+          + " = min("
+          + COLUMN_RESULT_MIN
+          + ", ?1), "
+          + COLUMN_RESULT_MAX_DATE
+          + " = CASE WHEN ?1 > "
+          + COLUMN_RESULT_MAX
+          + " OR (?1 = "
+          + COLUMN_RESULT_MAX
+          + " AND ?2 < "
+          + COLUMN_RESULT_MAX_DATE
+          + ") THEN ?2 ELSE "
+          + COLUMN_RESULT_MAX_DATE
+          + " END, "
+          + COLUMN_RESULT_MAX
+          + " = max("
+          + COLUMN_RESULT_MAX
+          + ", ?1), "
+          + COLUMN_FIRST_DATE
+          + " = min("
+          + COLUMN_FIRST_DATE
+          + ", ?2), "
+          + COLUMN_LAST_DATE
+          + " = max("
+          + COLUMN_LAST_DATE
+          + ", ?2) WHERE "
+          + COLUMN_GAME_TABLE
+          + " = ?3 AND "
+          + COLUMN_DAY
+          + " = ?4";
+  private static final String DELETE_DAY =
+      "DELETE FROM "
+          + TABLE_DAILY_STATISTICS
+          + " WHERE "
+          + COLUMN_GAME_TABLE
+          + " = ? AND "
+          + COLUMN_DAY
+          + " = ?";
+  /** The game columns in the order they're bound in the statements below, except for the id. */
+  private static final String CLASSIC_GAME_COLUMNS =
+      COLUMN_GAME_STATE
+          + ", "
+          + COLUMN_GAME_RANDOM
+          + ", "
+          + COLUMN_CARDS_IN_PLAY
+          + ", "
+          + COLUMN_CARDS_IN_DECK
+          + ", "
+          + COLUMN_TIME_ELAPSED
+          + ", "
+          + COLUMN_DATE;
+  private static final String ARCADE_GAME_COLUMNS =
+      CLASSIC_GAME_COLUMNS + ", " + COLUMN_NUM_TRIPLES_FOUND;
+  private static final String INSERT_CLASSIC_GAME =
+      "INSERT INTO "
+          + TABLE_CLASSIC_GAMES
+          + " ("
+          + CLASSIC_GAME_COLUMNS
+          + ", "
+          + COLUMN_GAME_ID
+          + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+  private static final String CLASSIC_GAME_ASSIGNMENTS =
+      COLUMN_GAME_STATE
+          + " = ?, "
+          + COLUMN_GAME_RANDOM
+          + " = ?, "
+          + COLUMN_CARDS_IN_PLAY
+          + " = ?, "
+          + COLUMN_CARDS_IN_DECK
+          + " = ?, "
+          + COLUMN_TIME_ELAPSED
+          + " = ?, "
+          + COLUMN_DATE
+          + " = ?";
+  private static final String UPDATE_CLASSIC_GAME =
+      "UPDATE "
+          + TABLE_CLASSIC_GAMES
+          + " SET "
+          + CLASSIC_GAME_ASSIGNMENTS
+          + " WHERE "
+          + COLUMN_GAME_ID
+          + " = ?";
+  private static final String DELETE_CLASSIC_GAME =
+      "DELETE FROM " + TABLE_CLASSIC_GAMES + " WHERE " + COLUMN_GAME_ID + " = ?";
+  private static final String INSERT_ARCADE_GAME =
+      "INSERT INTO "
+          + TABLE_ARCADE_GAMES
+          + " ("
+          + ARCADE_GAME_COLUMNS
+          + ", "
+          + COLUMN_GAME_ID
+          + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+  private static final String UPDATE_ARCADE_GAME =
+      "UPDATE "
+          + TABLE_ARCADE_GAMES
+          + " SET "
+          + CLASSIC_GAME_ASSIGNMENTS
+          + ", "
+          + COLUMN_NUM_TRIPLES_FOUND
+          + " = ? WHERE "
+          + COLUMN_GAME_ID
+          + " = ?";
+  private static final String DELETE_ARCADE_GAME =
+      "DELETE FROM " + TABLE_ARCADE_GAMES + " WHERE " + COLUMN_GAME_ID + " = ?";
   private static final String TAG = "DBAdapter";
 
+  /**
+   * Returns the SQL that adds up the completed games in {@code table} into rows of {@link
+   * #TABLE_DAILY_STATISTICS}, one for each day from the first parameter up to but not including
+   * the second.
+   */
+  private static String summarizeDays(String table, String resultColumn) {
+    String day = table + "." + COLUMN_DATE + " / " + StatisticsTotals.MS_PER_DAY;
+    String sameDay =
+        "other."
+            + COLUMN_GAME_STATE
+            + " = '"
+            + GameState.COMPLETED.name()
+            + "' AND other."
+            + COLUMN_DATE
+            + " >= ("
+            + day
+            + ") * "
+            + StatisticsTotals.MS_PER_DAY
+            + " AND other."
+            + COLUMN_DATE
+            + " < ("
+            + day
+            + " + 1) * "
+            + StatisticsTotals.MS_PER_DAY;
+    // The date of the first game of the day with the smallest or largest result, unless the
+    // largest is 0, which StatisticsTotals doesn't give a date.
+    String minDate =
+        "(SELECT other."
+            + COLUMN_DATE
+            + " FROM "
+            + table
+            + " AS other WHERE "
+            + sameDay
+            + " ORDER BY other."
+            + resultColumn
+            + ", other."
+            + COLUMN_DATE
+            + " LIMIT 1)";
+    String maxDate =
+        "CASE WHEN max("
+            + resultColumn
+            + ") > 0 THEN (SELECT other."
+            + COLUMN_DATE
+            + " FROM "
+            + table
+            + " AS other WHERE "
+            + sameDay
+            + " ORDER BY other."
+            + resultColumn
+            + " DESC, other."
+            + COLUMN_DATE
+            + " LIMIT 1) ELSE 0 END";
+    return "INSERT INTO "
+        + TABLE_DAILY_STATISTICS
+        + " ("
+        + DAILY_STATISTICS_COLUMNS
+        + ") SELECT '"
+        + table
+        + "', "
+        + day
+        + ", count(*), sum("
+        + resultColumn
+        + "), min("
+        + resultColumn
+        + "), "
+        + minDate
+        + ", max("
+        + resultColumn
+        + "), "
+        + maxDate
+        + ", min("
+        + COLUMN_DATE
+        + "), max("
+        + COLUMN_DATE
+        + ") FROM "
+        + table
+        + " WHERE "
+        + COLUMN_GAME_STATE
+        + " = '"
+        + GameState.COMPLETED.name()
+        + "' AND "
+        + COLUMN_DATE
+        + " >= ? AND "
+        + COLUMN_DATE
+        + " < ? GROUP BY "
+        + day;
+  }
+
+  /** Returns the SQL that counts whether the game with the id is stored as completed. */
+  private static String isCompleted(String table) {
+    return "SELECT count(*) FROM "
+        + table
+        + " WHERE "
+        + COLUMN_GAME_ID
+        + " = ? AND "
+        + COLUMN_GAME_STATE
+        + " = '"
+        + GameState.COMPLETED.name()
+        + "'";
+  }
+
+  /** The writes, compiled once when the database is opened and reused for every game. */
+  private static class Statements {
+    final SQLiteStatement mInsertClassicGame;
+    final SQLiteStatement mUpdateClassicGame;
+    final SQLiteStatement mDeleteClassicGame;
+    final SQLiteStatement mInsertArcadeGame;
+    final SQLiteStatement mUpdateArcadeGame;
+    final SQLiteStatement mDeleteArcadeGame;
+    final SQLiteStatement mIsClassicGameCompleted;
+    final SQLiteStatement mIsArcadeGameCompleted;
+    final SQLiteStatement mInsertDay;
+    final SQLiteStatement mAddToDay;
+
+    Statements(SQLiteDatabase db) {
+      mInsertClassicGame = db.compileStatement(INSERT_CLASSIC_GAME);
+      mUpdateClassicGame = db.compileStatement(UPDATE_CLASSIC_GAME);
+      mDeleteClassicGame = db.compileStatement(DELETE_CLASSIC_GAME);
+      mInsertArcadeGame = db.compileStatement(INSERT_ARCADE_GAME);
+      mUpdateArcadeGame = db.compileStatement(UPDATE_ARCADE_GAME);
+      mDeleteArcadeGame = db.compileStatement(DELETE_ARCADE_GAME);
+      mIsClassicGameCompleted = db.compileStatement(isCompleted(TABLE_CLASSIC_GAMES));
+      mIsArcadeGameCompleted = db.compileStatement(isCompleted(TABLE_ARCADE_GAMES));
+      mInsertDay = db.compileStatement(INSERT_DAY);
+      mAddToDay = db.compileStatement(ADD_TO_DAY);
+    }
+  }
+
+  /** The completed games in one of the game tables, with their daily totals. */
+  private abstract class CompletedGames implements PeriodTotals.Source {
+    private final String mTable;
+
+    /** The column that the number of triples found is read from, or "0" if there isn't one. */
+    private final String mNumTriplesFoundColumn;
+
+    CompletedGames(String table, String numTriplesFoundColumn) {
+      mTable = table;
+      mNumTriplesFoundColumn = numTriplesFoundColumn;
+    }
+
+    @Override
+    public List<GameSummary> getCompletedGames(Period period) {
+      return queryCompletedSummaries(mTable, mNumTriplesFoundColumn, period);
+    }
+
+    @Override
+    public List<GameSummary> getCompletedGames(long since, long until) {
+      return queryCompletedSummaries(mTable, mNumTriplesFoundColumn, since, until, null);
+    }
+
+    @Override
+    public void addDailyTotalsAfter(long day, StatisticsTotals totals) {
+      readDailyTotalsAfter(mTable, day, totals);
+    }
+  }
+
+  private final Clock mClock;
+
+  private Statements mStatements;
+
+  private final CompletedGames mCompletedClassicGames =
+      new CompletedGames(TABLE_CLASSIC_GAMES, "0") {
+        @Override
+        public long getResult(GameSummary game) {
+          return game.getTimeElapsed();
+        }
+      };
+
+  private final CompletedGames mCompletedArcadeGames =
+      new CompletedGames(TABLE_ARCADE_GAMES, COLUMN_NUM_TRIPLES_FOUND) {
+        @Override
+        public long getResult(GameSummary game) {
+          return game.getNumTriplesFound();
+        }
+      };
+
   /** Constructor */
-  public DBAdapter(Context context) {
+  public DBAdapter(Context context, Clock clock) {
     super(context, DATABASE_NAME, null, DATABASE_VERSION);
+    mClock = clock;
   }
 
   /**
@@ -93,11 +514,13 @@ public class DBAdapter extends SQLiteOpenHelper {
   @Override
   public void onCreate(SQLiteDatabase db) {
     Log.i("DBAdaptor", "onCreate");
-    String[] sql = new String[] {CREATE_CLASSIC_GAMES, CREATE_ARCADE_GAMES};
+    String[] sql =
+        new String[] {CREATE_CLASSIC_GAMES, CREATE_ARCADE_GAMES, CREATE_DAILY_STATISTICS};
     db.beginTransaction();
     try {
       // Create tables & test data
       execMultipleSQL(db, sql);
+      execMultipleSQL(db, CREATE_INDEXES);
       db.setTransactionSuccessful();
     } catch (SQLException e) {
       Log.e("Error creating tables and debug data", e.toString());
@@ -124,22 +547,225 @@ public class DBAdapter extends SQLiteOpenHelper {
         db.endTransaction();
       }
     }
+
+    if (oldVersion < 5) {
+      db.beginTransaction();
+      try {
+        execMultipleSQL(db, CREATE_INDEXES);
+        db.setTransactionSuccessful();
+      } catch (SQLException e) {
+        Log.e("Error creating indexes", e.toString());
+      } finally {
+        db.endTransaction();
+      }
+    }
+
+    if (oldVersion < 6) {
+      db.beginTransaction();
+      try {
+        db.execSQL(CREATE_DAILY_STATISTICS);
+        summarizeAllDays(db);
+        db.setTransactionSuccessful();
+      } catch (SQLException e) {
+        Log.e("Error creating daily statistics", e.toString());
+      } finally {
+        db.endTransaction();
+      }
+    }
   }
 
-  public void initialize(List<ClassicGame> classicGames, List<ArcadeGame> arcadeGames) {
-    Log.i("DBAdapter", "initialize");
-    initClassicGames(classicGames);
-    initArcadeGames(arcadeGames);
+  @Override
+  public void onOpen(SQLiteDatabase db) {
+    super.onOpen(db);
+    mStatements = new Statements(db);
   }
 
-  // Classic Game stuff
+  /** Returns the compiled writes, opening the database first if it isn't open. */
+  private Statements getStatements() {
+    getWritableDatabase();
+    return mStatements;
+  }
 
-  private void initClassicGames(List<ClassicGame> classicGames) {
-    // Clear everything
+  @Override
+  public void initialize(List<GameSummary> classicGames, List<GameSummary> arcadeGames) {
+    Log.i("DBAdapter", "initialize");
     classicGames.clear();
+    classicGames.addAll(queryCurrentSummaries(TABLE_CLASSIC_GAMES, "0"));
+    arcadeGames.clear();
+    arcadeGames.addAll(queryCurrentSummaries(TABLE_ARCADE_GAMES, COLUMN_NUM_TRIPLES_FOUND));
+  }
+
+  private List<GameSummary> queryCurrentSummaries(String table, String numTriplesFoundColumn) {
+    return querySummaries(
+        table,
+        numTriplesFoundColumn,
+        COLUMN_GAME_STATE + " IN (?, ?)",
+        new String[] {GameState.ACTIVE.name(), GameState.PAUSED.name()},
+        null);
+  }
+
+  /**
+   * Reads summaries of the completed games in the period, newest first, so that only the rows in
+   * the period are read.
+   */
+  private List<GameSummary> queryCompletedSummaries(
+      String table, String numTriplesFoundColumn, Period period) {
+    return queryCompletedSummaries(
+        table,
+        numTriplesFoundColumn,
+        period.getSince(),
+        Long.MAX_VALUE,
+        period.getMaxNumGames() == Integer.MAX_VALUE
+            ? null
+            : String.valueOf(period.getMaxNumGames()));
+  }
+
+  /** Reads summaries of the completed games started from {@code since} up to {@code until}. */
+  private List<GameSummary> queryCompletedSummaries(
+      String table, String numTriplesFoundColumn, long since, long until, String limit) {
+    return querySummaries(
+        table,
+        numTriplesFoundColumn,
+        COLUMN_GAME_STATE + " = ? AND " + COLUMN_DATE + " >= ? AND " + COLUMN_DATE + " < ?",
+        new String[] {
+          GameState.COMPLETED.name(), String.valueOf(since), String.valueOf(until)
+        },
+        limit);
+  }
+
+  /**
+   * Reads the totals of every day after {@code day} in {@code table} from {@link
+   * #TABLE_DAILY_STATISTICS}, and adds them to {@code totals}.
+   */
+  private void readDailyTotalsAfter(String table, long day, StatisticsTotals totals) {
+    Cursor cursor =
+        getWritableDatabase()
+            .query(
+                TABLE_DAILY_STATISTICS,
+                new String[] {
+                  COLUMN_NUM_GAMES,
+                  COLUMN_RESULT_SUM,
+                  COLUMN_RESULT_MIN,
+                  COLUMN_RESULT_MIN_DATE,
+                  COLUMN_RESULT_MAX,
+                  COLUMN_RESULT_MAX_DATE,
+                  COLUMN_FIRST_DATE,
+                  COLUMN_LAST_DATE
+                },
+                COLUMN_GAME_TABLE + " = ? AND " + COLUMN_DAY + " > ?",
+                new String[] {table, String.valueOf(day)},
+                null,
+                null,
+                COLUMN_DAY);
+    try {
+      while (cursor.moveToNext()) {
+        totals.add(
+            new StatisticsTotals(
+                cursor.getLong(0),
+                cursor.getLong(1),
+                cursor.getLong(2),
+                cursor.getLong(3),
+                cursor.getLong(4),
+                cursor.getLong(5),
+                cursor.getLong(6),
+                cursor.getLong(7)));
+      }
+    } finally {
+      cursor.close();
+    }
+  }
+
+  /**
+   * Reads summaries of the games that match {@code selection}, without reading the cards, and
+   * returns them sorted. Each card is stored as one byte, so the number of cards remaining is the
+   * total length of the card columns.
+   */
+  private List<GameSummary> querySummaries(
+      String table,
+      String numTriplesFoundColumn,
+      String selection,
+      String[] selectionArgs,
+      String limit) {
+    Cursor cursor =
+        getWritableDatabase()
+            .query(
+                table,
+                new String[] {
+                  COLUMN_GAME_ID,
+                  COLUMN_GAME_STATE,
+                  COLUMN_TIME_ELAPSED,
+                  COLUMN_DATE,
+                  "length(" + COLUMN_CARDS_IN_PLAY + ") + length(" + COLUMN_CARDS_IN_DECK + ")",
+                  numTriplesFoundColumn
+                },
+                selection,
+                selectionArgs,
+                null,
+                null,
+                COLUMN_DATE + " DESC",
+                limit);
+    List<GameSummary> games = Lists.newArrayListWithCapacity(cursor.getCount());
+    cursor.moveToFirst();
+    while (!cursor.isAfterLast()) {
+      games.add(
+          new GameSummary(
+              cursor.getLong(0),
+              GameState.valueOf(cursor.getString(1)),
+              cursor.getLong(2),
+              new Date(cursor.getLong(3)),
+              cursor.getInt(4),
+              cursor.getInt(5)));
+      cursor.moveToNext();
+    }
+    cursor.close();
+
+    Collections.sort(games);
+    return games;
+  }
 
-    // Do classic games first.
-    Cursor classicGamesCursor =
+  @Override
+  public long getMaxClassicGameId() {
+    return queryMaxId(TABLE_CLASSIC_GAMES);
+  }
+
+  @Override
+  public long getMaxArcadeGameId() {
+    return queryMaxId(TABLE_ARCADE_GAMES);
+  }
+
+  /**
+   * Returns the largest id ever used in the table, including by games that have been removed,
+   * which AUTOINCREMENT keeps track of in sqlite_sequence.
+   */
+  private long queryMaxId(String table) {
+    SQLiteStatement statement =
+        getWritableDatabase()
+            .compileStatement("SELECT ifnull(max(seq), 0) FROM sqlite_sequence WHERE name = ?");
+    try {
+      statement.bindString(1, table);
+      return statement.simpleQueryForLong();
+    } finally {
+      statement.close();
+    }
+  }
+
+  @Override
+  public void runInTransaction(Runnable writes) {
+    SQLiteDatabase db = getWritableDatabase();
+    db.beginTransaction();
+    try {
+      writes.run();
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  // Classic Game stuff
+
+  @Override
+  public ClassicGame loadClassicGame(long id) {
+    Cursor cursor =
         getWritableDatabase()
             .query(
                 TABLE_CLASSIC_GAMES,
@@ -152,67 +778,178 @@ public class DBAdapter extends SQLiteOpenHelper {
                   COLUMN_TIME_ELAPSED,
                   COLUMN_DATE
                 },
-                null,
-                null,
+                COLUMN_GAME_ID + " = ?",
+                new String[] {String.valueOf(id)},
                 null,
                 null,
                 null);
-    classicGamesCursor.moveToFirst();
-    while (!classicGamesCursor.isAfterLast()) {
-      ClassicGame game =
-          new ClassicGame(
-              classicGamesCursor.getLong(0),
-              classicGamesCursor.getLong(2),
-              Utils.cardListFromByteArray(classicGamesCursor.getBlob(3)),
-              Deck.fromByteArray(classicGamesCursor.getBlob(4)),
-              classicGamesCursor.getLong(5),
-              new Date(classicGamesCursor.getLong(6)),
-              GameState.valueOf(classicGamesCursor.getString(1)));
-      classicGames.add(game);
-      classicGamesCursor.moveToNext();
+    try {
+      if (!cursor.moveToFirst()) {
+        return null;
+      }
+      return new ClassicGame(
+          cursor.getLong(0),
+          cursor.getLong(2),
+          Utils.cardListFromByteArray(cursor.getBlob(3)),
+          Deck.fromByteArray(cursor.getBlob(4)),
+          cursor.getLong(5),
+          new Date(cursor.getLong(6)),
+          GameState.valueOf(cursor.getString(1)),
+          mClock);
+    } finally {
+      cursor.close();
     }
-    classicGamesCursor.close();
-
-    Collections.sort(classicGames);
   }
 
-  public long addClassicGame(ClassicGame game) {
+  @Override
+  public synchronized long addClassicGame(ClassicGame game) {
     Log.i(TAG, "adding game with seed = " + game.getRandomSeed());
-    return getWritableDatabase().insert(TABLE_CLASSIC_GAMES, null, createClassicGameValues(game));
+    SQLiteDatabase db = getWritableDatabase();
+    Statements statements = getStatements();
+    db.beginTransaction();
+    try {
+      SQLiteStatement insert = statements.mInsertClassicGame;
+      bindGame(insert, game);
+      bindId(insert, 7, game.getId());
+      long id = insert.executeInsert();
+      if (game.getGameState() == GameState.COMPLETED) {
+        addToDay(statements, TABLE_CLASSIC_GAMES, game.getTimeElapsed(), game);
+      }
+      db.setTransactionSuccessful();
+      return id;
+    } finally {
+      db.endTransaction();
+    }
   }
 
-  public void updateClassicGame(ClassicGame game) {
-    getWritableDatabase()
-        .update(
-            TABLE_CLASSIC_GAMES,
-            createClassicGameValues(game),
-            COLUMN_GAME_ID + " = " + game.getId(),
-            null);
+  @Override
+  public synchronized void updateClassicGame(ClassicGame game) {
+    SQLiteDatabase db = getWritableDatabase();
+    Statements statements = getStatements();
+    db.beginTransaction();
+    try {
+      boolean completes = isCompleting(statements.mIsClassicGameCompleted, game);
+      SQLiteStatement update = statements.mUpdateClassicGame;
+      bindGame(update, game);
+      update.bindLong(7, game.getId());
+      if (update.executeUpdateDelete() > 0 && completes) {
+        addToDay(statements, TABLE_CLASSIC_GAMES, game.getTimeElapsed(), game);
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
   }
 
-  public void removeClassicGame(ClassicGame game) {
-    getWritableDatabase().delete(TABLE_CLASSIC_GAMES, COLUMN_GAME_ID + " = " + game.getId(), null);
+  @Override
+  public synchronized void removeClassicGame(long id) {
+    removeGame(getStatements().mDeleteClassicGame, TABLE_CLASSIC_GAMES, COLUMN_TIME_ELAPSED, id);
   }
 
-  private ContentValues createClassicGameValues(ClassicGame game) {
-    ContentValues values = new ContentValues();
-    values.put(COLUMN_GAME_STATE, game.getGameState().name());
-    values.put(COLUMN_GAME_RANDOM, game.getRandomSeed());
-    values.put(COLUMN_CARDS_IN_PLAY, game.getCardsInPlayAsByteArray());
-    values.put(COLUMN_CARDS_IN_DECK, game.getCardsInDeckAsByteArray());
-    values.put(COLUMN_TIME_ELAPSED, game.getTimeElapsed());
-    values.put(COLUMN_DATE, game.getDateStarted().getTime());
-    return values;
+  @Override
+  public List<GameSummary> getCompletedClassicGames(Period period) {
+    return mCompletedClassicGames.getCompletedGames(period);
   }
 
-  // Arcade Game methods
+  @Override
+  public StatisticsTotals getClassicTotals(Period period) {
+    return PeriodTotals.of(mCompletedClassicGames, period);
+  }
 
-  private void initArcadeGames(List<ArcadeGame> arcadeGames) {
-    // Clear everything
-    arcadeGames.clear();
+  /** Binds the game to the first six parameters, in the order of {@link #CLASSIC_GAME_COLUMNS}. */
+  private static void bindGame(SQLiteStatement statement, Game game) {
+    statement.bindString(1, game.getGameState().name());
+    statement.bindLong(2, game.getRandomSeed());
+    statement.bindBlob(3, game.getCardsInPlayAsByteArray());
+    statement.bindBlob(4, game.getCardsInDeckAsByteArray());
+    statement.bindLong(5, game.getTimeElapsed());
+    statement.bindLong(6, game.getDateStarted().getTime());
+  }
+
+  /** Binds the id of a new game, or null for the database to choose one if it hasn't got one. */
+  private static void bindId(SQLiteStatement statement, int index, long id) {
+    if (id == -1) {
+      statement.bindNull(index);
+    } else {
+      statement.bindLong(index, id);
+    }
+  }
+
+  /** Returns whether the game is completed but isn't stored as completed yet. */
+  private static boolean isCompleting(SQLiteStatement isCompleted, Game game) {
+    if (game.getGameState() != GameState.COMPLETED) {
+      return false;
+    }
+    isCompleted.bindLong(1, game.getId());
+    return isCompleted.simpleQueryForLong() == 0;
+  }
+
+  /** Adds a completed game, with the given result, to the totals for the day it was started. */
+  private static void addToDay(Statements statements, String table, long result, Game game) {
+    long date = game.getDateStarted().getTime();
+    long day = PeriodTotals.getDay(date);
+    statements.mInsertDay.bindString(1, table);
+    statements.mInsertDay.bindLong(2, day);
+    statements.mInsertDay.executeInsert();
+    statements.mAddToDay.bindLong(1, result);
+    statements.mAddToDay.bindLong(2, date);
+    statements.mAddToDay.bindString(3, table);
+    statements.mAddToDay.bindLong(4, day);
+    statements.mAddToDay.executeUpdateDelete();
+  }
+
+  /**
+   * Deletes a game, and if it was completed works out the totals for its day in {@link
+   * #TABLE_DAILY_STATISTICS} again from the games that are left.
+   */
+  private void removeGame(SQLiteStatement delete, String table, String resultColumn, long id) {
+    SQLiteDatabase db = getWritableDatabase();
+    db.beginTransaction();
+    try {
+      Cursor cursor =
+          db.query(
+              table,
+              new String[] {COLUMN_DATE},
+              COLUMN_GAME_ID + " = ? AND " + COLUMN_GAME_STATE + " = ?",
+              new String[] {String.valueOf(id), GameState.COMPLETED.name()},
+              null,
+              null,
+              null);
+      long completedDate = -1;
+      try {
+        if (cursor.moveToFirst()) {
+          completedDate = cursor.getLong(0);
+        }
+      } finally {
+        cursor.close();
+      }
+      delete.bindLong(1, id);
+      delete.executeUpdateDelete();
+      if (completedDate != -1) {
+        long day = PeriodTotals.getDay(completedDate);
+        db.execSQL(DELETE_DAY, new Object[] {table, day});
+        db.execSQL(
+            summarizeDays(table, resultColumn),
+            new Object[] {PeriodTotals.getStartOfDay(day), PeriodTotals.getStartOfDay(day + 1)});
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  /** Fills {@link #TABLE_DAILY_STATISTICS} from the completed games already stored. */
+  private static void summarizeAllDays(SQLiteDatabase db) {
+    Object[] allDates = new Object[] {0L, Long.MAX_VALUE};
+    db.execSQL(summarizeDays(TABLE_CLASSIC_GAMES, COLUMN_TIME_ELAPSED), allDates);
+    db.execSQL(summarizeDays(TABLE_ARCADE_GAMES, COLUMN_NUM_TRIPLES_FOUND), allDates);
+  }
+
+  // Arcade Game methods
 
-    // Do classic games first.
-    Cursor arcadeGamesCursor =
+  @Override
+  public ArcadeGame loadArcadeGame(long id) {
+    Cursor cursor =
         getWritableDatabase()
             .query(
                 TABLE_ARCADE_GAMES,
@@ -226,57 +963,88 @@ public class DBAdapter extends SQLiteOpenHelper {
                   COLUMN_DATE,
                   COLUMN_NUM_TRIPLES_FOUND
                 },
-                null,
-                null,
+                COLUMN_GAME_ID + " = ?",
+                new String[] {String.valueOf(id)},
                 null,
                 null,
                 null);
-    arcadeGamesCursor.moveToFirst();
-    while (!arcadeGamesCursor.isAfterLast()) {
-      ArcadeGame game =
-          new ArcadeGame(
-              arcadeGamesCursor.getLong(0),
-              arcadeGamesCursor.getLong(2),
-              Utils.cardListFromByteArray(arcadeGamesCursor.getBlob(3)),
-              Deck.fromByteArray(arcadeGamesCursor.getBlob(4)),
-              arcadeGamesCursor.getLong(5),
-              new Date(arcadeGamesCursor.getLong(6)),
-              GameState.valueOf(arcadeGamesCursor.getString(1)),
-              arcadeGamesCursor.getInt(7));
-      arcadeGames.add(game);
-      arcadeGamesCursor.moveToNext();
+    try {
+      if (!cursor.moveToFirst()) {
+        return null;
+      }
+      return new ArcadeGame(
+          cursor.getLong(0),
+          cursor.getLong(2),
+          Utils.cardListFromByteArray(cursor.getBlob(3)),
+          Deck.fromByteArray(cursor.getBlob(4)),
+          cursor.getLong(5),
+          new Date(cursor.getLong(6)),
+          GameState.valueOf(cursor.getString(1)),
+          cursor.getInt(7),
+          mClock);
+    } finally {
+      cursor.close();
     }
-    arcadeGamesCursor.close();
+  }
 
-    Collections.sort(arcadeGames);
+  @Override
+  public synchronized long addArcadeGame(ArcadeGame game) {
+    SQLiteDatabase db = getWritableDatabase();
+    Statements statements = getStatements();
+    db.beginTransaction();
+    try {
+      SQLiteStatement insert = statements.mInsertArcadeGame;
+      bindArcadeGame(insert, game);
+      bindId(insert, 8, game.getId());
+      long id = insert.executeInsert();
+      if (game.getGameState() == GameState.COMPLETED) {
+        addToDay(statements, TABLE_ARCADE_GAMES, game.getNumTriplesFound(), game);
+      }
+      db.setTransactionSuccessful();
+      return id;
+    } finally {
+      db.endTransaction();
+    }
+  }
+
+  @Override
+  public synchronized void updateArcadeGame(ArcadeGame game) {
+    SQLiteDatabase db = getWritableDatabase();
+    Statements statements = getStatements();
+    db.beginTransaction();
+    try {
+      boolean completes = isCompleting(statements.mIsArcadeGameCompleted, game);
+      SQLiteStatement update = statements.mUpdateArcadeGame;
+      bindArcadeGame(update, game);
+      update.bindLong(8, game.getId());
+      if (update.executeUpdateDelete() > 0 && completes) {
+        addToDay(statements, TABLE_ARCADE_GAMES, game.getNumTriplesFound(), game);
+      }
+      db.setTransactionSuccessful();
+    } finally {
+      db.endTransaction();
+    }
   }
 
-  public long addArcadeGame(ArcadeGame game) {
-    return getWritableDatabase().insert(TABLE_ARCADE_GAMES, null, createArcadeGameValues(game));
+  @Override
+  public synchronized void removeArcadeGame(long id) {
+    removeGame(
+        getStatements().mDeleteArcadeGame, TABLE_ARCADE_GAMES, COLUMN_NUM_TRIPLES_FOUND, id);
   }
 
-  public void updateArcadeGame(ArcadeGame game) {
-    getWritableDatabase()
-        .update(
-            TABLE_ARCADE_GAMES,
-            createArcadeGameValues(game),
-            COLUMN_GAME_ID + " = " + game.getId(),
-            null);
+  @Override
+  public List<GameSummary> getCompletedArcadeGames(Period period) {
+    return mCompletedArcadeGames.getCompletedGames(period);
   }
 
-  public void removeArcadeGame(ArcadeGame game) {
-    getWritableDatabase().delete(TABLE_ARCADE_GAMES, COLUMN_GAME_ID + " = " + game.getId(), null);
+  @Override
+  public StatisticsTotals getArcadeTotals(Period period) {
+    return PeriodTotals.of(mCompletedArcadeGames, period);
   }
 
-  private ContentValues createArcadeGameValues(ArcadeGame game) {
-    ContentValues values = new ContentValues();
-    values.put(COLUMN_GAME_STATE, game.getGameState().name());
-    values.put(COLUMN_GAME_RANDOM, game.getRandomSeed());
-    values.put(COLUMN_CARDS_IN_PLAY, game.getCardsInPlayAsByteArray());
-    values.put(COLUMN_CARDS_IN_DECK, game.getCardsInDeckAsByteArray());
-    values.put(COLUMN_TIME_ELAPSED, game.getTimeElapsed());
-    values.put(COLUMN_DATE, game.getDateStarted().getTime());
-    values.put(COLUMN_NUM_TRIPLES_FOUND, game.getNumTriplesFound());
-    return values;
+  /** Binds the game to the first seven parameters, in the order of {@link #ARCADE_GAME_COLUMNS}. */
+  private static void bindArcadeGame(SQLiteStatement statement, ArcadeGame game) {
+    bindGame(statement, game);
+    statement.bindLong(7, game.getNumTriplesFound());
   }
 }
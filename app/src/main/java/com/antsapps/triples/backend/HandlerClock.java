@@ -0,0 +1,25 @@
+package com.antsapps.triples.backend;
+
+import android.os.Handler;
+import android.os.Looper;
+
+/** A {@link Clock} that calls back on the main thread. One is shared by all games. */
+class HandlerClock implements Clock {
+
+  private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+  @Override
+  public long currentTimeMillis() {
+    return System.currentTimeMillis();
+  }
+
+  @Override
+  public void schedule(Runnable tick, long delayMillis) {
+    mHandler.postDelayed(tick, delayMillis);
+  }
+
+  @Override
+  public void cancel(Runnable tick) {
+    mHandler.removeCallbacks(tick);
+  }
+}
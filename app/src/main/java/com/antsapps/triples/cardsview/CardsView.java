@@ -16,11 +16,13 @@ import com.antsapps.triples.backend.Game;
 import com.antsapps.triples.backend.OnValidTripleSelectedListener;
 import com.antsapps.triples.cardsview.CardDrawable.OnAnimationFinishedListener;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Ordering;
 import com.google.common.collect.Sets;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -46,7 +48,8 @@ public abstract class CardsView extends View implements Game.GameRenderer {
   private static final Rect EMPTY_RECT = new Rect(0, 0, 0, 0);
   static final int WHAT_INCREMENT = 0;
   static final int WHAT_DECREMENT = 1;
-  protected ImmutableList<Card> mCards = ImmutableList.of();
+  /** The card in each slot, updated in place so that finding a triple doesn't allocate. */
+  protected final List<Card> mCards = Lists.newArrayListWithCapacity(Game.MAX_CARDS_IN_PLAY);
   private final Map<Card, CardDrawable> mCardDrawables = Maps.newConcurrentMap();
   private final Set<Card> mCurrentlySelected = Sets.newHashSet();
   private final Set<Card> mCurrentlyHinted = Sets.newHashSet();
@@ -122,25 +125,74 @@ public abstract class CardsView extends View implements Game.GameRenderer {
     long start = System.currentTimeMillis();
     for (Card oldCard : mCards) {
       if (!newCards.contains(oldCard)) {
-        CardDrawable cardDrawable = mCardDrawables.get(oldCard);
-        cardDrawable.updateBounds(mOffScreenLocation);
-        mCurrentlySelected.remove(oldCard);
+        removeCard(oldCard);
       }
     }
 
-    mCards = newCards;
+    mCards.clear();
+    mCards.addAll(newCards);
     for (int i = 0; i < mCards.size(); i++) {
-      Card card = mCards.get(i);
-      CardDrawable cardDrawable = mCardDrawables.get(card);
-      if (cardDrawable == null) {
-        cardDrawable =
-            new CardDrawable(getContext(), mHandler, card, new CardRemovalListener(card));
-        mCardDrawables.put(card, cardDrawable);
+      placeCard(i);
+    }
+    onCardsUpdated(start);
+  }
+
+  /**
+   * Moves only the cards in the changed slots, unless the number of cards changed, which changes
+   * where every card goes.
+   */
+  @Override
+  public void updateCardsInPlay(Game game, long changedSlots) {
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < mCards.size(); i++) {
+      Card oldCard = mCards.get(i);
+      if ((changedSlots & (1L << i)) != 0 && !game.isInPlay(oldCard)) {
+        removeCard(oldCard);
       }
-      if (!calcBounds(i).equals(EMPTY_RECT)) {
-        cardDrawable.updateBounds(calcBounds(i));
+    }
+
+    int numCards = game.getNumCardsInPlay();
+    boolean resized = numCards != mCards.size();
+    while (mCards.size() > numCards) {
+      mCards.remove(mCards.size() - 1);
+    }
+    for (int i = 0; i < numCards; i++) {
+      if (i >= mCards.size()) {
+        mCards.add(game.getCardInPlay(i));
+      } else if ((changedSlots & (1L << i)) != 0) {
+        mCards.set(i, game.getCardInPlay(i));
       }
     }
+    for (int i = 0; i < numCards; i++) {
+      if (resized || (changedSlots & (1L << i)) != 0) {
+        placeCard(i);
+      }
+    }
+    onCardsUpdated(start);
+  }
+
+  /** Slides a card that is no longer in play off the screen. */
+  private void removeCard(Card card) {
+    CardDrawable cardDrawable = mCardDrawables.get(card);
+    cardDrawable.updateBounds(mOffScreenLocation);
+    mCurrentlySelected.remove(card);
+  }
+
+  /** Moves the card in the slot to where the slot is, creating its drawable if it's new. */
+  private void placeCard(int i) {
+    Card card = mCards.get(i);
+    CardDrawable cardDrawable = mCardDrawables.get(card);
+    if (cardDrawable == null) {
+      cardDrawable = new CardDrawable(getContext(), mHandler, card, new CardRemovalListener(card));
+      mCardDrawables.put(card, cardDrawable);
+    }
+    Rect bounds = calcBounds(i);
+    if (!bounds.equals(EMPTY_RECT)) {
+      cardDrawable.updateBounds(bounds);
+    }
+  }
+
+  private void onCardsUpdated(long start) {
     updateMeasuredDimensions(0, 0);
     invalidate();
     logValidTriple();
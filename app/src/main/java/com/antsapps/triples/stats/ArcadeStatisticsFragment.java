@@ -10,8 +10,7 @@ import android.widget.TextView;
 
 import com.antsapps.triples.GamesServices;
 import com.antsapps.triples.R;
-import com.antsapps.triples.backend.ArcadeGame;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.Period;
 import com.google.common.collect.Lists;
 
@@ -19,9 +18,9 @@ import java.util.List;
 
 public class ArcadeStatisticsFragment extends BaseStatisticsFragment {
 
-  protected static class StatisticsGamesArrayAdapter extends ArrayAdapter<Game> {
+  protected static class StatisticsGamesArrayAdapter extends ArrayAdapter<GameSummary> {
 
-    public StatisticsGamesArrayAdapter(Context context, List<Game> games) {
+    public StatisticsGamesArrayAdapter(Context context, List<GameSummary> games) {
       super(context, R.layout.stats_game_list_item, games);
     }
 
@@ -34,7 +33,7 @@ public class ArcadeStatisticsFragment extends BaseStatisticsFragment {
         v = vi.inflate(R.layout.stats_game_list_item, null);
       }
 
-      ArcadeGame g = (ArcadeGame) getItem(position);
+      GameSummary g = getItem(position);
       if (g != null) {
         ((TextView) v.findViewById(R.id.result)).setText(String.valueOf(g.getNumTriplesFound()));
         ((TextView) v.findViewById(R.id.date_played))
@@ -46,8 +45,8 @@ public class ArcadeStatisticsFragment extends BaseStatisticsFragment {
   }
 
   @Override
-  protected ArrayAdapter<Game> createArrayAdapter() {
-    return new StatisticsGamesArrayAdapter(getActivity(), Lists.<Game>newArrayList());
+  protected ArrayAdapter<GameSummary> createArrayAdapter() {
+    return new StatisticsGamesArrayAdapter(getActivity(), Lists.<GameSummary>newArrayList());
   }
 
   @Override
@@ -64,8 +63,8 @@ public class ArcadeStatisticsFragment extends BaseStatisticsFragment {
     return GamesServices.Leaderboard.ARCADE;
   }
 
-  protected void deleteGame(Game game) {
-    mApplication.deleteArcadeGame((ArcadeGame) game);
+  protected void deleteGame(GameSummary game) {
+    mApplication.deleteArcadeGame(game);
   }
 
   @Override
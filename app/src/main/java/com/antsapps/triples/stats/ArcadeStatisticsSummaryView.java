@@ -7,9 +7,8 @@ import android.view.View;
 import android.widget.TextView;
 
 import com.antsapps.triples.R;
-import com.antsapps.triples.backend.ArcadeGame;
 import com.antsapps.triples.backend.ArcadeStatistics;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.Statistics;
 
 import java.util.Arrays;
@@ -51,8 +50,8 @@ public class ArcadeStatisticsSummaryView extends BaseStatisticsSummaryView {
     int[] bins = new int[MAX_POSSIBLE + 1];
     Arrays.fill(bins, 0);
     int maxFound = 0;
-    for (Game game : arcadeStatistics.getData()) {
-      int numFound = (int) Math.min(((ArcadeGame) game).getNumTriplesFound(), MAX_POSSIBLE);
+    for (GameSummary game : arcadeStatistics.getData()) {
+      int numFound = (int) Math.min(game.getNumTriplesFound(), MAX_POSSIBLE);
       maxFound = Math.max(maxFound, numFound);
       bins[numFound]++;
     }
@@ -10,8 +10,8 @@ import android.widget.ListView;
 import com.antsapps.triples.BaseGameListActivity;
 import com.antsapps.triples.BaseGameListFragment;
 import com.antsapps.triples.R;
-import com.antsapps.triples.backend.Game;
 import com.antsapps.triples.backend.GameProperty;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.Statistics;
 
 import java.util.Comparator;
@@ -19,10 +19,11 @@ import java.util.Comparator;
 /** Created by anthony on 1/12/13. */
 public abstract class BaseStatisticsFragment extends BaseGameListFragment
     implements OnStatisticsChangeListener,
-        OnComparatorChangeListener<Game>,
+        OnComparatorChangeListener<GameSummary>,
         StatisticsSelectorView.OnPeriodChangeListener {
   private BaseGameListActivity mGameListActivity;
-  private Comparator<Game> mComparator = GameProperty.TIME_ELAPSED.createReversableComparator();
+  private Comparator<GameSummary> mComparator =
+      GameProperty.TIME_ELAPSED.createReversableComparator();
   private StatisticsGamesServicesView mGameServicesView;
   protected StatisticsSelectorView mSelectorView;
   private BaseStatisticsSummaryView mSummaryView;
@@ -69,7 +70,7 @@ public abstract class BaseStatisticsFragment extends BaseGameListFragment
     mSummaryView.onStatisticsChange(statistics);
 
     mAdapter.clear();
-    for (Game game : statistics.getData()) {
+    for (GameSummary game : statistics.getData()) {
       mAdapter.add(game);
     }
     mAdapter.notifyDataSetChanged();
@@ -77,7 +78,7 @@ public abstract class BaseStatisticsFragment extends BaseGameListFragment
   }
 
   @Override
-  public void onComparatorChange(Comparator<Game> comparator) {
+  public void onComparatorChange(Comparator<GameSummary> comparator) {
     mComparator = comparator;
     if (mAdapter != null) {
       mAdapter.sort(mComparator);
@@ -14,8 +14,8 @@ import android.widget.FrameLayout;
 import android.widget.TextView;
 
 import com.antsapps.triples.R;
-import com.antsapps.triples.backend.Game;
 import com.antsapps.triples.backend.GameProperty;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.ReversableComparator;
 import com.google.common.collect.Maps;
 
@@ -60,9 +60,9 @@ abstract class BaseStatisticsListHeaderView extends FrameLayout {
 
   private class ComparatorChangeOnClickListener implements OnClickListener {
 
-    private final ReversableComparator<Game> mComparator;
+    private final ReversableComparator<GameSummary> mComparator;
 
-    private ComparatorChangeOnClickListener(ReversableComparator<Game> comparator) {
+    private ComparatorChangeOnClickListener(ReversableComparator<GameSummary> comparator) {
       mComparator = comparator;
     }
 
@@ -76,10 +76,11 @@ abstract class BaseStatisticsListHeaderView extends FrameLayout {
     }
   }
 
-  private OnComparatorChangeListener<Game> mComparatorChangeListener;
-  private final Map<TextView, ReversableComparator<Game>> mComparatorsMap = Maps.newHashMap();
+  private OnComparatorChangeListener<GameSummary> mComparatorChangeListener;
+  private final Map<TextView, ReversableComparator<GameSummary>> mComparatorsMap =
+      Maps.newHashMap();
   private final Map<TextView, Integer> mPositionsMap = Maps.newHashMap();
-  private ReversableComparator<Game> mCurrentComparator;
+  private ReversableComparator<GameSummary> mCurrentComparator;
 
   public BaseStatisticsListHeaderView(Context context) {
     this(context, null);
@@ -104,14 +105,15 @@ abstract class BaseStatisticsListHeaderView extends FrameLayout {
   protected abstract TextView initHeaders(View container);
 
   protected void initHeader(TextView header, GameProperty property, int position) {
-    ReversableComparator<Game> reversableComparator = property.createReversableComparator();
+    ReversableComparator<GameSummary> reversableComparator =
+        property.createReversableComparator();
     mComparatorsMap.put(header, reversableComparator);
     mPositionsMap.put(header, position);
     header.setCompoundDrawablePadding(5);
     header.setOnClickListener(new ComparatorChangeOnClickListener(reversableComparator));
   }
 
-  void setOnComparatorChangeListener(OnComparatorChangeListener<Game> listener) {
+  void setOnComparatorChangeListener(OnComparatorChangeListener<GameSummary> listener) {
     mComparatorChangeListener = listener;
     mComparatorChangeListener.onComparatorChange(mCurrentComparator);
   }
@@ -157,7 +159,7 @@ abstract class BaseStatisticsListHeaderView extends FrameLayout {
     return dr;
   }
 
-  private void setComparator(ReversableComparator<Game> comparator) {
+  private void setComparator(ReversableComparator<GameSummary> comparator) {
     mCurrentComparator = comparator;
     if (mComparatorChangeListener != null) {
       mComparatorChangeListener.onComparatorChange(comparator);
@@ -10,8 +10,7 @@ import android.widget.TextView;
 
 import com.antsapps.triples.GamesServices;
 import com.antsapps.triples.R;
-import com.antsapps.triples.backend.ClassicGame;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.Period;
 import com.google.common.collect.Lists;
 
@@ -20,9 +19,9 @@ import java.util.concurrent.TimeUnit;
 
 public class ClassicStatisticsFragment extends BaseStatisticsFragment {
 
-  protected static class StatisticsGamesArrayAdapter extends ArrayAdapter<Game> {
+  protected static class StatisticsGamesArrayAdapter extends ArrayAdapter<GameSummary> {
 
-    public StatisticsGamesArrayAdapter(Context context, List<Game> games) {
+    public StatisticsGamesArrayAdapter(Context context, List<GameSummary> games) {
       super(context, R.layout.stats_game_list_item, games);
     }
 
@@ -35,7 +34,7 @@ public class ClassicStatisticsFragment extends BaseStatisticsFragment {
         v = vi.inflate(R.layout.stats_game_list_item, null);
       }
 
-      Game g = getItem(position);
+      GameSummary g = getItem(position);
       if (g != null) {
         ((TextView) v.findViewById(R.id.result))
             .setText(
@@ -49,8 +48,8 @@ public class ClassicStatisticsFragment extends BaseStatisticsFragment {
   }
 
   @Override
-  protected ArrayAdapter<Game> createArrayAdapter() {
-    return new StatisticsGamesArrayAdapter(getActivity(), Lists.<Game>newArrayList());
+  protected ArrayAdapter<GameSummary> createArrayAdapter() {
+    return new StatisticsGamesArrayAdapter(getActivity(), Lists.<GameSummary>newArrayList());
   }
 
   @Override
@@ -67,8 +66,8 @@ public class ClassicStatisticsFragment extends BaseStatisticsFragment {
     return GamesServices.Leaderboard.CLASSIC;
   }
 
-  protected void deleteGame(Game game) {
-    mApplication.deleteClassicGame((ClassicGame) game);
+  protected void deleteGame(GameSummary game) {
+    mApplication.deleteClassicGame(game);
   }
 
   @Override
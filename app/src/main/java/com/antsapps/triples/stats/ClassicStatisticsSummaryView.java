@@ -8,7 +8,7 @@ import android.widget.TextView;
 
 import com.antsapps.triples.R;
 import com.antsapps.triples.backend.ClassicStatistics;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 import com.antsapps.triples.backend.Statistics;
 
 import java.util.Arrays;
@@ -49,7 +49,7 @@ public class ClassicStatisticsSummaryView extends BaseStatisticsSummaryView {
     int[] bins = new int[maxTime + 1];
     Arrays.fill(bins, 0);
     int maxMinutes = 0;
-    for (Game game : classicStatistics.getData()) {
+    for (GameSummary game : classicStatistics.getData()) {
       int minutes = (int) Math.min(TimeUnit.MILLISECONDS.toMinutes(game.getTimeElapsed()), maxTime);
       maxMinutes = Math.max(maxMinutes, minutes);
       bins[minutes]++;
@@ -9,7 +9,7 @@ import android.util.AttributeSet;
 import android.view.View;
 
 import com.antsapps.triples.backend.ClassicStatistics;
-import com.antsapps.triples.backend.Game;
+import com.antsapps.triples.backend.GameSummary;
 
 import java.util.List;
 import java.util.concurrent.TimeUnit;
@@ -167,10 +167,10 @@ class ScatterPlotView extends View {
   private void drawGridlines(Canvas canvas) {}
 
   private void drawPlot(Canvas canvas) {
-    List<Game> rawData = mStatistics.getData();
+    List<GameSummary> rawData = mStatistics.getData();
     float[] scaledData = new float[rawData.size() * 2];
     int i = 0;
-    for (Game game : rawData) {
+    for (GameSummary game : rawData) {
       //      scaledData[2*i] = getGraphXOffset() + i * getGraphWidth() / rawData.length;
       scaledData[2 * i] = convertDateToXCoord(game.getDateStarted().getTime());
       scaledData[2 * i + 1] = convertTimeToYCoord(game.getTimeElapsed());
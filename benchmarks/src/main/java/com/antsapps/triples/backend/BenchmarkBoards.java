@@ -0,0 +1,60 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/** Builds random boards for the benchmarks. */
+final class BenchmarkBoards {
+
+  /** The largest number of cards that can have no valid triple amongst them. */
+  static final int MAX_CARDS_WITHOUT_TRIPLE = 20;
+
+  /** Returns {@code numCards} different random cards that include at least one valid triple. */
+  static List<Card> withTriple(Random random, int numCards) {
+    while (true) {
+      List<Card> cards = shuffledDeck(random).subList(0, numCards);
+      if (TripleFinder.hasValidTriple(cards)) {
+        return Lists.newArrayList(cards);
+      }
+    }
+  }
+
+  /**
+   * Returns {@code numCards} different random cards with no valid triple amongst them. This is the
+   * worst case for searching a board, as every pair has to be tried.
+   */
+  static List<Card> withoutTriple(Random random, int numCards) {
+    Preconditions.checkArgument(numCards <= MAX_CARDS_WITHOUT_TRIPLE, "numCards = %s", numCards);
+    while (true) {
+      List<Card> cards = Lists.newArrayList();
+      CardSet completions = new CardSet(Card.NUM_CARDS);
+      for (Card card : shuffledDeck(random)) {
+        if (completions.contains(card)) {
+          continue;
+        }
+        for (Card other : cards) {
+          completions.add(CompletionTable.STANDARD.complete(card, other));
+        }
+        cards.add(card);
+        if (cards.size() == numCards) {
+          return cards;
+        }
+      }
+    }
+  }
+
+  private static List<Card> shuffledDeck(Random random) {
+    List<Card> deck = Lists.newArrayListWithCapacity(Card.NUM_CARDS);
+    for (int index = 0; index < Card.NUM_CARDS; index++) {
+      deck.add(Card.of(index));
+    }
+    Collections.shuffle(deck, random);
+    return deck;
+  }
+
+  private BenchmarkBoards() {}
+}
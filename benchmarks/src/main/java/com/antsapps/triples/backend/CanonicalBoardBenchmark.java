@@ -0,0 +1,46 @@
+package com.antsapps.triples.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Measures finding the canonical form of boards of different sizes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class CanonicalBoardBenchmark {
+
+  private static final int NUM_BOARDS = 64;
+
+  @Param({"12", "15", "18", "21"})
+  public int numCards;
+
+  private List<Card>[] mBoards;
+
+  private int mNext;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    Random random = new Random(numCards);
+    mBoards = new List[NUM_BOARDS];
+    for (int i = 0; i < NUM_BOARDS; i++) {
+      mBoards[i] = BenchmarkBoards.withTriple(random, numCards);
+    }
+  }
+
+  @Benchmark
+  public CanonicalBoard canonicalForm() {
+    mNext = (mNext + 1) & (NUM_BOARDS - 1);
+    return CanonicalBoard.of(mBoards[mNext]);
+  }
+}
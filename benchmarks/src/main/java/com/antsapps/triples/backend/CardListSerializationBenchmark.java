@@ -0,0 +1,44 @@
+package com.antsapps.triples.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/** Measures {@link Utils#cardListToByteArray} and {@link Utils#cardListFromByteArray}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardListSerializationBenchmark {
+
+  @Param({"12", "21", "81"})
+  public int numCards;
+
+  private List<Card> mCards;
+
+  private byte[] mBytes;
+
+  @Setup
+  public void setUp() {
+    mCards = BenchmarkBoards.withTriple(new Random(0), numCards);
+    mBytes = Utils.cardListToByteArray(mCards);
+  }
+
+  @Benchmark
+  public byte[] cardListToByteArray() {
+    return Utils.cardListToByteArray(mCards);
+  }
+
+  @Benchmark
+  public List<Card> cardListFromByteArray() {
+    return Utils.cardListFromByteArray(mBytes);
+  }
+}
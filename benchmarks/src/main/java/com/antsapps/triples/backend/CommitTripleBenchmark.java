@@ -0,0 +1,57 @@
+package com.antsapps.triples.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Game#commitTriple} with no renderer or listeners, both as single moves in an
+ * arcade game (which never runs out of cards) and as whole classic games played to the end.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CommitTripleBenchmark {
+
+  private final int[] mPositions = new int[3 * Game.MAX_VALID_TRIPLES_IN_PLAY];
+
+  private final Card[] mTriple = new Card[3];
+
+  private ArcadeGame mArcadeGame;
+
+  private long mSeed;
+
+  @Setup
+  public void setUp() {
+    mArcadeGame = ArcadeGame.createFromSeed(0);
+  }
+
+  @Benchmark
+  public int commitArcadeTriple() {
+    commitFirstValidTriple(mArcadeGame);
+    return mArcadeGame.getCardsRemaining();
+  }
+
+  @Benchmark
+  public int playClassicGame() {
+    ClassicGame game = ClassicGame.createFromSeed(mSeed++);
+    while (game.getGameState() != Game.GameState.COMPLETED) {
+      commitFirstValidTriple(game);
+    }
+    return game.getCardsRemaining();
+  }
+
+  private void commitFirstValidTriple(Game game) {
+    game.getAllValidTriplePositions(mPositions);
+    for (int i = 0; i < 3; i++) {
+      mTriple[i] = game.mBoard.get(mPositions[i]);
+    }
+    game.commitTriple(mTriple);
+  }
+}
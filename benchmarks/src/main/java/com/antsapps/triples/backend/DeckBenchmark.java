@@ -0,0 +1,61 @@
+package com.antsapps.triples.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures dealing from a {@link Deck} and re-adding to it, as an arcade game does, and
+ * converting it to and from its stored form.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DeckBenchmark {
+
+  private final Card[] mCards = new Card[3];
+
+  private Deck mDeck;
+
+  private byte[] mStoredDeck;
+
+  @Setup
+  public void setUp() {
+    mDeck = new Deck(new Random(0));
+    for (int i = 0; i < Game.MIN_CARDS_IN_PLAY; i++) {
+      mDeck.getNextCard();
+    }
+    mStoredDeck = mDeck.toByteArray();
+  }
+
+  @Benchmark
+  public Deck drawAndReaddThree() {
+    for (int i = 0; i < 3; i++) {
+      mCards[i] = mDeck.getNextCard();
+    }
+    mDeck.readdCards(mCards);
+    return mDeck;
+  }
+
+  @Benchmark
+  public Deck shuffleNewDeck() {
+    return new Deck(new Random(0));
+  }
+
+  @Benchmark
+  public byte[] toByteArray() {
+    return mDeck.toByteArray();
+  }
+
+  @Benchmark
+  public Deck fromByteArray() {
+    return Deck.fromByteArray(mStoredDeck);
+  }
+}
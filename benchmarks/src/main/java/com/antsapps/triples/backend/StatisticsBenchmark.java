@@ -0,0 +1,112 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building {@link ClassicStatistics} and {@link ArcadeStatistics} over histories of
+ * completed games, for each of the kinds of period the statistics screen offers.
+ *
+ * <p>The games are saved in an {@link InMemoryGameStore}, and the statistics are built from its
+ * totals the way the app builds them from the database's, so a date period is added up by {@link
+ * PeriodTotals} from the games on its first day and the totals of each day after.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StatisticsBenchmark {
+
+  private static final long MS_PER_DAY = StatisticsTotals.MS_PER_DAY;
+
+  /** The games are spread evenly over this many days up to now. */
+  private static final int DAYS_OF_HISTORY = 3 * 365;
+
+  @Param({"10000", "100000", "1000000"})
+  public int numGames;
+
+  @Param({"ALL_TIME", "PAST_WEEK", "LAST_100_GAMES"})
+  public String period;
+
+  private GameStore mStore;
+
+  private Period mPeriod;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    long now = System.currentTimeMillis();
+    mStore = new InMemoryGameStore(Clock.SYSTEM);
+    for (int i = 0; i < numGames; i++) {
+      Date date = new Date(now - (long) (random.nextDouble() * DAYS_OF_HISTORY * MS_PER_DAY));
+      mStore.addClassicGame(
+          new ClassicGame(
+              -1,
+              i,
+              Collections.<Card>emptyList(),
+              Deck.fromByteArray(new byte[0]),
+              3 * 60 * 1000 + random.nextInt(10 * 60 * 1000),
+              date,
+              Game.GameState.COMPLETED,
+              Clock.SYSTEM));
+      mStore.addArcadeGame(
+          new ArcadeGame(
+              -1,
+              i,
+              Collections.<Card>emptyList(),
+              Deck.fromByteArray(new byte[0]),
+              ArcadeGame.TIME_LIMIT_MS + 1,
+              date,
+              Game.GameState.COMPLETED,
+              random.nextInt(30),
+              Clock.SYSTEM));
+    }
+
+    if (period.equals("ALL_TIME")) {
+      mPeriod = Period.ALL_TIME;
+    } else if (period.equals("PAST_WEEK")) {
+      mPeriod = DatePeriod.fromTimePeriod(7 * MS_PER_DAY);
+    } else {
+      mPeriod = new NumGamesPeriod(100);
+    }
+  }
+
+  @Benchmark
+  public ClassicStatistics classicStatistics() {
+    return new ClassicStatistics(
+        new Supplier<List<GameSummary>>() {
+          @Override
+          public List<GameSummary> get() {
+            return mStore.getCompletedClassicGames(mPeriod);
+          }
+        },
+        mStore.getClassicTotals(mPeriod));
+  }
+
+  @Benchmark
+  public ArcadeStatistics arcadeStatistics() {
+    return new ArcadeStatistics(
+        new Supplier<List<GameSummary>>() {
+          @Override
+          public List<GameSummary> get() {
+            return mStore.getCompletedArcadeGames(mPeriod);
+          }
+        },
+        mStore.getArcadeTotals(mPeriod));
+  }
+}
@@ -0,0 +1,101 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.collect.ImmutableSet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching boards of different sizes for a valid triple, both on boards that have one
+ * and on boards that don't, which is the worst case.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TripleFinderBenchmark {
+
+  private static final int NUM_BOARDS = 64;
+
+  private static final Set<Card> NO_CARDS = ImmutableSet.of();
+
+  @State(Scope.Thread)
+  public static class BoardsWithTriple {
+    @Param({"12", "15", "18", "21"})
+    public int numCards;
+
+    List<Card>[] mBoards;
+
+    int mNext;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+      Random random = new Random(numCards);
+      mBoards = new List[NUM_BOARDS];
+      for (int i = 0; i < NUM_BOARDS; i++) {
+        mBoards[i] = BenchmarkBoards.withTriple(random, numCards);
+      }
+    }
+
+    List<Card> next() {
+      mNext = (mNext + 1) & (NUM_BOARDS - 1);
+      return mBoards[mNext];
+    }
+  }
+
+  /** There are no boards of 21 cards without a valid triple. */
+  @State(Scope.Thread)
+  public static class BoardsWithoutTriple {
+    @Param({"12", "15", "18"})
+    public int numCards;
+
+    List<Card>[] mBoards;
+
+    int mNext;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+      Random random = new Random(numCards);
+      mBoards = new List[NUM_BOARDS];
+      for (int i = 0; i < NUM_BOARDS; i++) {
+        mBoards[i] = BenchmarkBoards.withoutTriple(random, numCards);
+      }
+    }
+
+    List<Card> next() {
+      mNext = (mNext + 1) & (NUM_BOARDS - 1);
+      return mBoards[mNext];
+    }
+  }
+
+  @Benchmark
+  public Set<Card> getAValidTriple(BoardsWithTriple boards) {
+    return Game.getAValidTriple(boards.next(), NO_CARDS);
+  }
+
+  @Benchmark
+  public Set<Card> getAValidTripleWithoutTriple(BoardsWithoutTriple boards) {
+    return Game.getAValidTriple(boards.next(), NO_CARDS);
+  }
+
+  @Benchmark
+  public boolean hasValidTriple(BoardsWithTriple boards) {
+    return TripleFinder.hasValidTriple(boards.next());
+  }
+
+  @Benchmark
+  public boolean hasValidTripleWithoutTriple(BoardsWithoutTriple boards) {
+    return TripleFinder.hasValidTriple(boards.next());
+  }
+}
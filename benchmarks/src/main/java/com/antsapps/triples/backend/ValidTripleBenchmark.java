@@ -0,0 +1,70 @@
+package com.antsapps.triples.backend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Game#isValidTriple} over a fixed mix of valid and invalid triples, and {@link
+ * CardSpace#validTriples} checking the same triples 64 at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ValidTripleBenchmark {
+
+  private static final int NUM_TRIPLES = 1024;
+
+  private static final int BATCH_SIZE = 64;
+
+  private Card[][] mTriples;
+
+  private final int[] mFirsts = new int[NUM_TRIPLES];
+
+  private final int[] mSeconds = new int[NUM_TRIPLES];
+
+  private final int[] mThirds = new int[NUM_TRIPLES];
+
+  private int mNext;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(0);
+    mTriples = new Card[NUM_TRIPLES][];
+    for (int i = 0; i < NUM_TRIPLES; i++) {
+      List<Card> cards = BenchmarkBoards.withTriple(random, 3 + random.nextInt(3));
+      mTriples[i] = new Card[] {cards.get(0), cards.get(1), cards.get(2)};
+      mFirsts[i] = cards.get(0).packed();
+      mSeconds[i] = cards.get(1).packed();
+      mThirds[i] = cards.get(2).packed();
+    }
+  }
+
+  @Benchmark
+  public boolean isValidTriple() {
+    mNext = (mNext + 1) & (NUM_TRIPLES - 1);
+    return Game.isValidTriple(mTriples[mNext]);
+  }
+
+  @Benchmark
+  public boolean isValidTripleFixedArity() {
+    mNext = (mNext + 1) & (NUM_TRIPLES - 1);
+    Card[] triple = mTriples[mNext];
+    return Game.isValidTriple(triple[0], triple[1], triple[2]);
+  }
+
+  /** Each operation checks {@link #BATCH_SIZE} triples. */
+  @Benchmark
+  public long validTriplesBatch() {
+    mNext = (mNext + BATCH_SIZE) & (NUM_TRIPLES - 1);
+    return CardSpace.STANDARD.validTriples(mFirsts, mSeconds, mThirds, mNext, BATCH_SIZE);
+  }
+}
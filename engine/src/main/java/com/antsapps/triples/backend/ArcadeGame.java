@@ -1,5 +1,7 @@
 package com.antsapps.triples.backend;
 
+import com.google.common.base.Preconditions;
+
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
@@ -12,17 +14,31 @@ public class ArcadeGame extends Game implements OnTimerTickListener {
 
   private int mNumTriplesFound;
 
+  /** Creates a game whose timer doesn't tick, for running games with nothing to display. */
   public static ArcadeGame createFromSeed(long seed) {
+    return createFromSeed(seed, Clock.SYSTEM);
+  }
+
+  public static ArcadeGame createFromSeed(long seed, Clock clock) {
+    return createFromSeed(seed, clock, CardSpace.STANDARD);
+  }
+
+  /**
+   * Creates a game played with {@code cardSpace}, which must be playable. Only games with the
+   * standard deck can be saved.
+   */
+  public static ArcadeGame createFromSeed(long seed, Clock clock, CardSpace cardSpace) {
     ArcadeGame game =
         new ArcadeGame(
             -1,
             seed,
             Collections.<Card>emptyList(),
-            new Deck(new Random(seed)),
+            new Deck(cardSpace, new Random(seed)),
             0,
             new Date(),
             GameState.STARTING,
-            0);
+            0,
+            clock);
     game.init();
     return game;
   }
@@ -35,8 +51,9 @@ public class ArcadeGame extends Game implements OnTimerTickListener {
       long timeElapsed,
       Date date,
       GameState gameState,
-      int numTriplesFound) {
-    super(id, seed, cardsInPlay, cardsInDeck, timeElapsed, date, gameState);
+      int numTriplesFound,
+      Clock clock) {
+    super(id, seed, cardsInPlay, cardsInDeck, timeElapsed, date, gameState, clock);
     mNumTriplesFound = numTriplesFound;
     mTimer.addOnTimerTickListener(this);
   }
@@ -71,6 +88,25 @@ public class ArcadeGame extends Game implements OnTimerTickListener {
     mDeck.readdCards(cards);
   }
 
+  /**
+   * Returns a copy of the game as it is now, with the same id, which can be handed to another
+   * thread to save. The game must be played with the standard deck.
+   */
+  ArcadeGame copy() {
+    Preconditions.checkState(
+        getCardSpace() == CardSpace.STANDARD, "Only games with the standard deck can be saved");
+    return new ArcadeGame(
+        getId(),
+        getRandomSeed(),
+        mBoard.toImmutableList(),
+        Deck.fromByteArray(mDeck.toByteArray()),
+        getTimeElapsed(),
+        getDateStarted(),
+        mGameState,
+        mNumTriplesFound,
+        Clock.SYSTEM);
+  }
+
   @Override
   public String getGameTypeForAnalytics() {
     return GAME_TYPE_FOR_ANALYTICS;
@@ -83,6 +119,17 @@ public class ArcadeGame extends Game implements OnTimerTickListener {
     }
   }
 
+  @Override
+  GameSummary getSummary() {
+    return new GameSummary(
+        getId(),
+        mGameState,
+        getTimeElapsed(),
+        getDateStarted(),
+        getCardsRemaining(),
+        mNumTriplesFound);
+  }
+
   public int getNumTriplesFound() {
     return mNumTriplesFound;
   }
@@ -0,0 +1,242 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Random;
+
+/**
+ * Estimates how many triples could be found in an arcade game by a player who always sees a valid
+ * triple, so that recorded scores can be compared with what was achievable.
+ *
+ * <p>How long each find takes comes from a {@link FindTimeModel}, which only sees the board. The
+ * player chooses between the valid triples by looking {@code lookahead} finds ahead and taking
+ * the triple that makes those finds quickest in total; with a lookahead of zero it takes the first
+ * triple. Found triples go to the back of the deck the way {@link ArcadeGame#commitTriple} re-adds
+ * them, as if their cards were selected in ascending order of index.
+ *
+ * <p>The game is replayed on bitsets and a circular buffer of card indices, with buffers for every
+ * level of lookahead allocated up front, so no step allocates. An estimator can only estimate one
+ * game at a time.
+ */
+public final class ArcadeGameEstimator {
+
+  /** How long it takes to find a triple on a board. */
+  public interface FindTimeModel {
+    long getFindTimeMs(int numCardsInPlay, int numValidTriples);
+  }
+
+  /** Returns a model in which every find takes {@code findTimeMs}. */
+  public static FindTimeModel constant(final long findTimeMs) {
+    return new FindTimeModel() {
+      @Override
+      public long getFindTimeMs(int numCardsInPlay, int numValidTriples) {
+        return findTimeMs;
+      }
+    };
+  }
+
+  /**
+   * Returns a model in which finding a triple on a board with a single triple takes {@code
+   * findTimeMs}, and the time goes down in proportion to the number of triples to choose from.
+   */
+  public static FindTimeModel proportionalToTriples(final long findTimeMs) {
+    return new FindTimeModel() {
+      @Override
+      public long getFindTimeMs(int numCardsInPlay, int numValidTriples) {
+        return findTimeMs / numValidTriples;
+      }
+    };
+  }
+
+  private final FindTimeModel mModel;
+
+  private final int mLookahead;
+
+  private final long[] mLow;
+  private final long[] mHigh;
+  private final byte[][] mDeck;
+  private final int[] mFirst;
+  private final int[] mDeckSize;
+  private final int[] mCards = new int[Game.MAX_CARDS_IN_PLAY];
+  private final int[][] mMoves;
+  private final int[] mScratch = new int[Game.MAX_CARDS_IN_PLAY];
+
+  public ArcadeGameEstimator(FindTimeModel model, int lookahead) {
+    Preconditions.checkArgument(lookahead >= 0, "Negative lookahead: %s", lookahead);
+    mModel = model;
+    mLookahead = lookahead;
+    int levels = lookahead + 2;
+    mLow = new long[levels];
+    mHigh = new long[levels];
+    mDeck = new byte[levels][Card.NUM_CARDS];
+    mFirst = new int[levels];
+    mDeckSize = new int[levels];
+    mMoves = new int[levels][Game.MAX_VALID_TRIPLES_IN_PLAY];
+  }
+
+  /**
+   * Returns the number of triples found within {@link ArcadeGame#TIME_LIMIT_MS} in the game that
+   * {@link ArcadeGame#createFromSeed} deals for {@code seed}.
+   */
+  public int estimate(long seed) {
+    return estimate(seed, ArcadeGame.TIME_LIMIT_MS);
+  }
+
+  public int estimate(long seed, long timeLimitMs) {
+    Deck deck = new Deck(new Random(seed));
+    for (int i = 0; i < Card.NUM_CARDS; i++) {
+      mDeck[0][i] = (byte) deck.getNextCard().index();
+    }
+    mFirst[0] = 0;
+    mDeckSize[0] = Card.NUM_CARDS;
+    mLow[0] = 0;
+    mHigh[0] = 0;
+    // Deal the first cards the same way Board.dealInitialCards does.
+    while (size(0) < Game.MIN_CARDS_IN_PLAY || countValidTriples(0) == 0) {
+      deal(0);
+    }
+
+    int numTriplesFound = 0;
+    long elapsedMs = 0;
+    while (true) {
+      int numMoves = generateMoves(0);
+      elapsedMs += mModel.getFindTimeMs(size(0), numMoves);
+      if (elapsedMs > timeLimitMs) {
+        return numTriplesFound;
+      }
+      numTriplesFound++;
+
+      int bestMove = mMoves[0][0];
+      if (mLookahead > 0 && numMoves > 1) {
+        long bestTimeMs = Long.MAX_VALUE;
+        for (int i = 0; i < numMoves; i++) {
+          int move = mMoves[0][i];
+          play(0, move);
+          long timeMs = lookahead(1, mLookahead);
+          if (timeMs < bestTimeMs) {
+            bestTimeMs = timeMs;
+            bestMove = move;
+          }
+        }
+      }
+      play(0, bestMove);
+      copy(1, 0);
+    }
+  }
+
+  /**
+   * Returns the shortest total time for the next {@code remaining} finds from the position at
+   * {@code level}.
+   */
+  private long lookahead(int level, int remaining) {
+    int numMoves = generateMoves(level);
+    long findTimeMs = mModel.getFindTimeMs(size(level), numMoves);
+    if (remaining == 1) {
+      return findTimeMs;
+    }
+    long bestTimeMs = Long.MAX_VALUE;
+    for (int i = 0; i < numMoves; i++) {
+      play(level, mMoves[level][i]);
+      bestTimeMs = Math.min(bestTimeMs, lookahead(level + 1, remaining - 1));
+    }
+    return findTimeMs + bestTimeMs;
+  }
+
+  /**
+   * Writes every valid triple in the position at {@code level} to {@link #mMoves}, as three card
+   * indices of 7 bits each, and returns how many there are.
+   */
+  private int generateMoves(int level) {
+    long low = mLow[level];
+    long high = mHigh[level];
+    int[] cards = mCards;
+    int numCards = CardSet.toIndices(low, high, cards);
+    int numMoves = 0;
+    for (int i = 0; i < numCards; i++) {
+      for (int j = i + 1; j < numCards; j++) {
+        int third = CompletionTable.STANDARD.complete(cards[i], cards[j]);
+        if (third > cards[j] && CardSet.contains(low, high, third)) {
+          mMoves[level][numMoves++] = cards[i] << 14 | cards[j] << 7 | third;
+        }
+      }
+    }
+    return numMoves;
+  }
+
+  /**
+   * Takes the triple in {@code move} from the position at {@code level}, deals the same way {@link
+   * Board#removeTriple} does and puts the triple at the back of the deck, leaving the new position
+   * at {@code level + 1}.
+   */
+  private void play(int level, int move) {
+    int next = level + 1;
+    copy(level, next);
+    for (int i = 0; i < 3; i++) {
+      int card = (move >>> (14 - 7 * i)) & 0x7f;
+      mLow[next] &= ~CardSet.lowBit(card);
+      mHigh[next] &= ~CardSet.highBit(card);
+    }
+    while (size(next) < Game.MIN_CARDS_IN_PLAY) {
+      deal(next);
+    }
+    while (countValidTriples(next) == 0) {
+      deal(next);
+    }
+    for (int i = 0; i < 3; i++) {
+      mDeck[next][(mFirst[next] + mDeckSize[next]++) % Card.NUM_CARDS] =
+          (byte) ((move >>> (14 - 7 * i)) & 0x7f);
+    }
+  }
+
+  private void deal(int level) {
+    for (int i = 0; i < 3; i++) {
+      int card = mDeck[level][mFirst[level]];
+      mFirst[level] = (mFirst[level] + 1) % Card.NUM_CARDS;
+      mDeckSize[level]--;
+      mLow[level] |= CardSet.lowBit(card);
+      mHigh[level] |= CardSet.highBit(card);
+    }
+  }
+
+  private void copy(int from, int to) {
+    mLow[to] = mLow[from];
+    mHigh[to] = mHigh[from];
+    System.arraycopy(mDeck[from], 0, mDeck[to], 0, Card.NUM_CARDS);
+    mFirst[to] = mFirst[from];
+    mDeckSize[to] = mDeckSize[from];
+  }
+
+  private int size(int level) {
+    return Long.bitCount(mLow[level]) + Long.bitCount(mHigh[level]);
+  }
+
+  private int countValidTriples(int level) {
+    long low = mLow[level];
+    long high = mHigh[level];
+    int numCards = CardSet.toIndices(low, high, mScratch);
+    int numPairs = 0;
+    for (int i = 0; i < numCards; i++) {
+      for (int j = i + 1; j < numCards; j++) {
+        if (CardSet.contains(
+            low, high, CompletionTable.STANDARD.complete(mScratch[i], mScratch[j]))) {
+          numPairs++;
+        }
+      }
+    }
+    // Each triple is made by three of the pairs.
+    return numPairs / 3;
+  }
+
+  /** Usage: ArcadeGameEstimator [firstSeed [numSeeds [findTimeMs [lookahead]]]] */
+  public static void main(String[] args) {
+    long firstSeed = args.length > 0 ? Long.parseLong(args[0]) : 0;
+    int numSeeds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    long findTimeMs = args.length > 2 ? Long.parseLong(args[2]) : 5000;
+    int lookahead = args.length > 3 ? Integer.parseInt(args[3]) : 2;
+    ArcadeGameEstimator estimator =
+        new ArcadeGameEstimator(proportionalToTriples(findTimeMs), lookahead);
+    for (long seed = firstSeed; seed < firstSeed + numSeeds; seed++) {
+      System.out.println("Seed " + seed + ": " + estimator.estimate(seed) + " triples");
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Supplier;
+
+import java.util.List;
+
+/** Created by anthony on 2/12/13. */
+public class ArcadeStatistics extends Statistics {
+
+  ArcadeStatistics(Supplier<List<GameSummary>> gamesInPeriod, StatisticsTotals totals) {
+    super(gamesInPeriod, totals);
+  }
+
+  public long getMostFound() {
+    return mTotals.getMax();
+  }
+
+  public long getAverageFound() {
+    return mTotals.getAverage();
+  }
+
+  public long getLeastFound() {
+    return mTotals.getMin();
+  }
+
+  public long getMostFoundDate() {
+    return mTotals.getMaxDate();
+  }
+
+  public long getLeastFoundDate() {
+    return mTotals.getMinDate();
+  }
+}
@@ -0,0 +1,238 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The cards in play, held in a fixed array of slots, {@link Game#MAX_CARDS_IN_PLAY} for the
+ * standard deck and {@link CardSpace#getMaxCardsInPlay} in general.
+ *
+ * <p>Alongside the slots the board keeps the presence set of its cards, the slot each card is in
+ * and the index of valid triples, so looking any of them up is constant time. Dealing works on the
+ * slots directly and records which slots it changed in {@link #getChangedSlots}, so removing a
+ * triple doesn't allocate.
+ */
+final class Board {
+
+  private static final byte NOT_IN_PLAY = -1;
+
+  private final CardSpace mCardSpace;
+
+  private final CompletionTable mTable;
+
+  private final Card[] mSlots;
+
+  /** The number of slots in use, which includes any slots emptied during a commit. */
+  private int mNumSlots;
+
+  private final byte[] mSlotOfCard;
+
+  private final CardSet mCards;
+
+  private final ValidTripleIndex mValidTriples;
+
+  /** A bit for each slot changed by the last deal. */
+  private long mChangedSlots;
+
+  /** Creates a board of cards from {@code cardSpace}, which must be playable. */
+  Board(CardSpace cardSpace, List<Card> cards) {
+    mCardSpace = cardSpace;
+    mTable = cardSpace.getCompletionTable();
+    mSlots = new Card[cardSpace.getMaxCardsInPlay()];
+    mSlotOfCard = new byte[cardSpace.getNumCards()];
+    mCards = new CardSet(cardSpace.getNumCards());
+    mValidTriples = new ValidTripleIndex(mTable);
+    Preconditions.checkArgument(
+        cards.size() <= mSlots.length, "Too many cards in play: %s", cards.size());
+    Arrays.fill(mSlotOfCard, NOT_IN_PLAY);
+    for (Card card : cards) {
+      Preconditions.checkArgument(
+          card.getCardSpace() == cardSpace, "%s isn't from the board's deck", card);
+      append(card);
+    }
+  }
+
+  /**
+   * Deals the cards for a new game, three at a time, until there are at least {@link
+   * Game#MIN_CARDS_IN_PLAY} and there is a valid triple.
+   */
+  void dealInitialCards(CardSource deck) {
+    Preconditions.checkState(mNumSlots == 0);
+    mChangedSlots = 0;
+    while (mNumSlots < Game.MIN_CARDS_IN_PLAY || mValidTriples.isEmpty()) {
+      for (int i = 0; i < 3; i++) {
+        append(deck.getNextCard(this));
+      }
+    }
+  }
+
+  /**
+   * Removes the given triple from play and deals from {@code deck} to replace it:
+   *
+   * <ol>
+   *   <li>The emptied slots are refilled while there are fewer than {@link Game#MIN_CARDS_IN_PLAY}
+   *       cards in play.
+   *   <li>Any slots that are still empty are filled by moving the last cards into them.
+   *   <li>Three more cards are added at the end until there is a valid triple.
+   * </ol>
+   *
+   * The cards must all be in play.
+   */
+  void removeTriple(Card first, Card second, Card third, CardSource deck) {
+    mChangedSlots = 0;
+    clearSlot(mSlotOfCard[first.index()]);
+    clearSlot(mSlotOfCard[second.index()]);
+    clearSlot(mSlotOfCard[third.index()]);
+
+    // Add more cards up to the minimum.
+    while (mCards.size() < Game.MIN_CARDS_IN_PLAY && !deck.isEmpty()) {
+      for (int i = 0; i < 3; i++) {
+        setSlot(firstEmptySlot(), deck.getNextCard(this));
+      }
+    }
+
+    // Remove any empty slots by moving the last cards into them.
+    int numCards = mCards.size();
+    for (int i = 0; i < numCards; i++) {
+      if (mSlots[i] == null) {
+        removeTrailingEmptySlots();
+        if (i == mNumSlots - 1) break;
+        Card last = mSlots[--mNumSlots];
+        mSlots[mNumSlots] = null;
+        mSlots[i] = last;
+        mSlotOfCard[last.index()] = (byte) i;
+        mChangedSlots |= (1L << i) | (1L << mNumSlots);
+      }
+    }
+    removeTrailingEmptySlots();
+
+    // Add more cards until there is a valid triple.
+    while (mValidTriples.isEmpty() && !deck.isEmpty()) {
+      for (int i = 0; i < 3; i++) {
+        append(deck.getNextCard(this));
+      }
+    }
+  }
+
+  private void append(Card card) {
+    Preconditions.checkState(mNumSlots < mSlots.length, "No slots left for %s", card);
+    setSlot(mNumSlots++, card);
+  }
+
+  private void clearSlot(int slot) {
+    Card card = mSlots[slot];
+    mSlots[slot] = null;
+    mSlotOfCard[card.index()] = NOT_IN_PLAY;
+    mCards.remove(card);
+    mValidTriples.onCardRemoved(card);
+    mChangedSlots |= 1L << slot;
+  }
+
+  private void setSlot(int slot, Card card) {
+    mSlots[slot] = card;
+    mSlotOfCard[card.index()] = (byte) slot;
+    mCards.add(card);
+    mValidTriples.onCardAdded(card, mCards);
+    mChangedSlots |= 1L << slot;
+  }
+
+  private int firstEmptySlot() {
+    for (int i = 0; i < mNumSlots; i++) {
+      if (mSlots[i] == null) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("No empty slots");
+  }
+
+  private void removeTrailingEmptySlots() {
+    while (mNumSlots > 0 && mSlots[mNumSlots - 1] == null) {
+      mNumSlots--;
+    }
+  }
+
+  /** Returns the number of cards in play. */
+  int size() {
+    return mCards.size();
+  }
+
+  /** Returns the number of slots in use. Some of them may be empty while a triple is replaced. */
+  int getNumSlots() {
+    return mNumSlots;
+  }
+
+  /** Returns the card in the given slot. */
+  Card get(int slot) {
+    return mSlots[slot];
+  }
+
+  /** Returns the slot that the card is in, or -1 if it isn't in play. */
+  int getSlot(Card card) {
+    return mSlotOfCard[card.index()];
+  }
+
+  CardSpace getCardSpace() {
+    return mCardSpace;
+  }
+
+  CompletionTable getCompletionTable() {
+    return mTable;
+  }
+
+  CardSet getCards() {
+    return mCards;
+  }
+
+  ValidTripleIndex getValidTriples() {
+    return mValidTriples;
+  }
+
+  /**
+   * Returns a bitmask with bit {@code i} set if slot {@code i} had a card added, removed or moved
+   * by the last call to {@link #dealInitialCards} or {@link #removeTriple}.
+   */
+  long getChangedSlots() {
+    return mChangedSlots;
+  }
+
+  /**
+   * Writes the slots of every valid triple into {@code slots}, three consecutive entries per
+   * triple in ascending order, and returns the number of triples. Only triples that fit in {@code
+   * slots} are written.
+   */
+  int getValidTripleSlots(int[] slots) {
+    int numTriples = 0;
+    for (int triple = mValidTriples.next(0);
+        triple != -1;
+        triple = mValidTriples.next(triple + 1)) {
+      int offset = numTriples * 3;
+      if (offset + 3 <= slots.length) {
+        for (int i = 0; i < 3; i++) {
+          slots[offset + i] = mSlotOfCard[mTable.getCard(triple, i)];
+        }
+        Arrays.sort(slots, offset, offset + 3);
+      }
+      numTriples++;
+    }
+    return numTriples;
+  }
+
+  ImmutableList<Card> toImmutableList() {
+    ImmutableList.Builder<Card> cards = ImmutableList.builder();
+    for (int i = 0; i < mNumSlots; i++) {
+      cards.add(mSlots[i]);
+    }
+    return cards.build();
+  }
+
+  byte[] toByteArray() {
+    byte[] b = new byte[mNumSlots];
+    for (int i = 0; i < mNumSlots; i++) {
+      b[i] = mCardSpace.toByte(mSlots[i]);
+    }
+    return b;
+  }
+}
@@ -0,0 +1,142 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Plays games the way a person would, through {@link Game#addHint} and {@link Game#commitTriple},
+ * taking as long over each triple as its {@link ReactionModel} says.
+ *
+ * <p>Games played by a bot must use the bot's {@link ManualClock}, which is moved on by the time
+ * each find takes. Timer ticks, including the one that ends an arcade game, happen when they would
+ * in real time, but a whole game takes microseconds. With the same seed for the game and the bot,
+ * a game is always played the same way. {@link BotLoadTest} uses bots to play and save games
+ * through a {@link GameStore}.
+ */
+public class Bot {
+
+  /** Decides how a bot finds each triple. */
+  public interface ReactionModel {
+    /** Returns how long it takes to find a triple on a board. */
+    long getFindTimeMs(int numCardsInPlay, int numValidTriples, Random random);
+
+    /** Returns how many hints, from 0 to 3, to ask for before looking for a triple. */
+    int getNumHints(int numCardsInPlay, int numValidTriples, Random random);
+
+    /** Returns which of the {@code numCandidates} triples that fit the hints to take. */
+    int chooseTriple(int numCandidates, Random random);
+  }
+
+  /**
+   * Returns a model that takes a random triple, in a time that is uniformly distributed around
+   * {@code findTimeMs} divided by the number of triples to choose from, and asks for a hint with
+   * probability {@code hintProbability} before each triple.
+   */
+  public static ReactionModel simpleModel(final long findTimeMs, final double hintProbability) {
+    return new ReactionModel() {
+      @Override
+      public long getFindTimeMs(int numCardsInPlay, int numValidTriples, Random random) {
+        return (long) (findTimeMs * (0.5 + random.nextDouble()) / numValidTriples);
+      }
+
+      @Override
+      public int getNumHints(int numCardsInPlay, int numValidTriples, Random random) {
+        return random.nextDouble() < hintProbability ? 1 : 0;
+      }
+
+      @Override
+      public int chooseTriple(int numCandidates, Random random) {
+        return random.nextInt(numCandidates);
+      }
+    };
+  }
+
+  private final ReactionModel mModel;
+
+  private final ManualClock mClock;
+
+  private final Random mRandom;
+
+  /** The slots of every valid triple in play, with room for all of them with the game's deck. */
+  private int[] mSlots = new int[3 * Game.MAX_VALID_TRIPLES_IN_PLAY];
+
+  private final Card[] mTriple = new Card[3];
+
+  public Bot(ReactionModel model, ManualClock clock, long seed) {
+    mModel = model;
+    mClock = clock;
+    mRandom = new Random(seed);
+  }
+
+  public ManualClock getClock() {
+    return mClock;
+  }
+
+  /**
+   * Plays {@code game}, which must have been created with this bot's clock, until it is completed,
+   * and returns the number of triples found. Zen games never end, so they can't be played.
+   */
+  public int play(Game game) {
+    Preconditions.checkArgument(!(game instanceof ZenGame), "Zen games never end.");
+    Preconditions.checkState(
+        game.getGameState() != Game.GameState.COMPLETED, "Game is already completed.");
+    int maxSlots = 3 * game.getCardSpace().getMaxValidTriplesInPlay();
+    if (mSlots.length < maxSlots) {
+      mSlots = new int[maxSlots];
+    }
+    game.resumeFromLifecycle();
+    game.begin();
+    int numTriplesFound = 0;
+    while (game.getGameState() != Game.GameState.COMPLETED) {
+      Board board = game.mBoard;
+      int numValidTriples = board.getValidTripleSlots(mSlots);
+      int numHints = mModel.getNumHints(board.size(), numValidTriples, mRandom);
+      for (int i = 0; i < numHints; i++) {
+        if (!game.addHint()) {
+          break;
+        }
+      }
+
+      mClock.advance(mModel.getFindTimeMs(board.size(), numValidTriples, mRandom));
+      // Arcade games can run out of time while the bot is looking.
+      if (game.getGameState() == Game.GameState.COMPLETED) {
+        break;
+      }
+
+      int numCandidates = keepTriplesContaining(board, game.getHintedCards(), numValidTriples);
+      int triple = mModel.chooseTriple(numCandidates, mRandom);
+      for (int i = 0; i < 3; i++) {
+        mTriple[i] = board.get(mSlots[triple * 3 + i]);
+      }
+      game.commitTriple(mTriple);
+      numTriplesFound++;
+    }
+    return numTriplesFound;
+  }
+
+  /**
+   * Moves the triples in {@link #mSlots} that contain all of {@code cards} to the front, and
+   * returns how many there are.
+   */
+  private int keepTriplesContaining(Board board, Set<Card> cards, int numTriples) {
+    if (cards.isEmpty()) {
+      return numTriples;
+    }
+    int numKept = 0;
+    for (int triple = 0; triple < numTriples; triple++) {
+      int numContained = 0;
+      for (int i = 0; i < 3; i++) {
+        if (cards.contains(board.get(mSlots[triple * 3 + i]))) {
+          numContained++;
+        }
+      }
+      if (numContained == cards.size()) {
+        System.arraycopy(mSlots, triple * 3, mSlots, numKept * 3, 3);
+        numKept++;
+      }
+    }
+    return numKept;
+  }
+}
@@ -0,0 +1,147 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Supplier;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * Plays games with {@link Bot}s and saves them the way the app does, through a {@link
+ * WriteBehindGameStore}, to run the engine, the write-behind queue and the statistics together
+ * without a device or a person.
+ *
+ * <p>The store underneath is an {@link InMemoryGameStore}. Each game is added when it's created
+ * and saved again after every triple, which is far more often than the app saves, so the queue
+ * gets a write at the rate the bot makes moves. Once every game has been played the queue is
+ * flushed, and the statistics for each kind of period are read back and checked against what the
+ * bots did.
+ */
+public final class BotLoadTest {
+
+  /** How long the bots take to find a triple on a board with only one, in ms. */
+  private static final long FIND_TIME_MS = 15 * 1000;
+
+  private static final double HINT_PROBABILITY = 0.1;
+
+  /** Usage: BotLoadTest [numGames [seed]] */
+  public static void main(String[] args) {
+    int numGames = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+    long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+
+    WriteBehindGameStore store = new WriteBehindGameStore(new InMemoryGameStore(Clock.SYSTEM));
+    store.initialize(Lists.<GameSummary>newArrayList(), Lists.<GameSummary>newArrayList());
+    Bot bot = new Bot(Bot.simpleModel(FIND_TIME_MS, HINT_PROBABILITY), new ManualClock(), seed);
+
+    long start = System.currentTimeMillis();
+    long totalTimeElapsed = 0;
+    long totalTriplesFound = 0;
+    for (int i = 0; i < numGames; i++) {
+      totalTimeElapsed += playClassicGame(store, bot, seed + i);
+      totalTriplesFound += playArcadeGame(store, bot, seed + i);
+    }
+    store.flush();
+    long played = System.currentTimeMillis();
+    System.out.println(
+        "Played and saved " + numGames + " classic and arcade games in " + (played - start) + "ms");
+
+    List<Period> periods =
+        Lists.<Period>newArrayList(
+            Period.ALL_TIME,
+            DatePeriod.fromTimePeriod(7 * StatisticsTotals.MS_PER_DAY),
+            new NumGamesPeriod(100));
+    for (Period period : periods) {
+      ClassicStatistics classic = getClassicStatistics(store, period);
+      ArcadeStatistics arcade = getArcadeStatistics(store, period);
+      Preconditions.checkState(
+          classic.getNumGames() == Math.min(numGames, period.getMaxNumGames()),
+          "Classic statistics have %s games",
+          classic.getNumGames());
+      Preconditions.checkState(
+          arcade.getNumGames() == classic.getNumGames(),
+          "Arcade statistics have %s games",
+          arcade.getNumGames());
+      Preconditions.checkState(
+          classic.getData().size() == classic.getNumGames(),
+          "Classic statistics read %s games",
+          classic.getData().size());
+      System.out.println(
+          classic.getNumGames()
+              + " games: average time "
+              + classic.getAverageTime()
+              + "ms, average found "
+              + arcade.getAverageFound());
+    }
+    StatisticsTotals classicTotals = store.getClassicTotals(Period.ALL_TIME);
+    StatisticsTotals arcadeTotals = store.getArcadeTotals(Period.ALL_TIME);
+    Preconditions.checkState(
+        classicTotals.getSum() == totalTimeElapsed, "Classic totals don't match the games played");
+    Preconditions.checkState(
+        arcadeTotals.getSum() == totalTriplesFound, "Arcade totals don't match the games played");
+    System.out.println("Read statistics in " + (System.currentTimeMillis() - played) + "ms");
+  }
+
+  /** Plays a classic game, saving it as it goes, and returns its time elapsed. */
+  private static long playClassicGame(final GameStore store, Bot bot, long seed) {
+    final ClassicGame game = ClassicGame.createFromSeed(seed, bot.getClock());
+    game.setId(store.addClassicGame(game));
+    game.addOnUpdateCardsInPlayListener(
+        new Game.OnUpdateCardsInPlayListener() {
+          @Override
+          public void onUpdateCardsInPlay(long changedSlots, int numRemaining, int numFound) {
+            store.updateClassicGame(game);
+          }
+
+          @Override
+          public void onCardHinted(Card card) {}
+        });
+    bot.play(game);
+    store.updateClassicGame(game);
+    return game.getTimeElapsed();
+  }
+
+  /** Plays an arcade game, saving it as it goes, and returns the number of triples found. */
+  private static int playArcadeGame(final GameStore store, Bot bot, long seed) {
+    final ArcadeGame game = ArcadeGame.createFromSeed(seed, bot.getClock());
+    game.setId(store.addArcadeGame(game));
+    game.addOnUpdateCardsInPlayListener(
+        new Game.OnUpdateCardsInPlayListener() {
+          @Override
+          public void onUpdateCardsInPlay(long changedSlots, int numRemaining, int numFound) {
+            store.updateArcadeGame(game);
+          }
+
+          @Override
+          public void onCardHinted(Card card) {}
+        });
+    bot.play(game);
+    store.updateArcadeGame(game);
+    return game.getNumTriplesFound();
+  }
+
+  /** Reads the statistics for the period, the way the app's statistics screen does. */
+  private static ClassicStatistics getClassicStatistics(
+      final GameStore store, final Period period) {
+    return new ClassicStatistics(
+        new Supplier<List<GameSummary>>() {
+          @Override
+          public List<GameSummary> get() {
+            return store.getCompletedClassicGames(period);
+          }
+        },
+        store.getClassicTotals(period));
+  }
+
+  private static ArcadeStatistics getArcadeStatistics(final GameStore store, final Period period) {
+    return new ArcadeStatistics(
+        new Supplier<List<GameSummary>>() {
+          @Override
+          public List<GameSummary> get() {
+            return store.getCompletedArcadeGames(period);
+          }
+        },
+        store.getArcadeTotals(period));
+  }
+
+  private BotLoadTest() {}
+}
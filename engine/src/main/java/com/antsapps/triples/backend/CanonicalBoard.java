@@ -0,0 +1,201 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Collection;
+
+/**
+ * The canonical form of a set of cards under the symmetries of the deck that keep valid triples
+ * valid: permuting the four properties, and relabelling the three values of each property
+ * independently. Two boards have the same canonical form exactly when one can be turned into the
+ * other by these symmetries, so anything that only depends on which triples there are, like
+ * solver results, triple counts or difficulty, only has to be worked out once per canonical form.
+ *
+ * <p>Treating a card as a vector over the integers mod 3, every symmetry is a monomial linear map
+ * (a permutation of the properties with each one multiplied by 1 or 2) followed by a translation.
+ * There are 24 * 16 = 384 linear maps and 81 translations, 31104 symmetries in all. Of two sets,
+ * the one with the lowest card that isn't in both is the smaller, and the canonical form is the
+ * smallest image of the board. It always contains card 0, so it's one of the images of {@code
+ * board - x} for a card {@code x} on the board under a linear map, and only those 384 per card
+ * are tried.
+ */
+public final class CanonicalBoard {
+
+  private static final int NUM_PROPERTIES = 4;
+
+  private static final int NUM_CARDS = Card.NUM_CARDS;
+
+  /** The number of monomial linear maps: 4! permutations times 2^4 choices of scale. */
+  static final int NUM_LINEAR_MAPS = 384;
+
+  /** The image of every card under every linear map. */
+  private static final byte[] LINEAR_MAPS = new byte[NUM_LINEAR_MAPS * NUM_CARDS];
+
+  /** The card {@code first - second}, for every pair of cards. */
+  private static final byte[] DIFFERENCES = new byte[NUM_CARDS * NUM_CARDS];
+
+  static {
+    int[] digits = new int[NUM_PROPERTIES];
+    int[] mapped = new int[NUM_PROPERTIES];
+    int map = 0;
+    for (int[] permutation : permutations()) {
+      for (int scales = 0; scales < 1 << NUM_PROPERTIES; scales++) {
+        for (int card = 0; card < NUM_CARDS; card++) {
+          toDigits(card, digits);
+          for (int i = 0; i < NUM_PROPERTIES; i++) {
+            int scale = (scales >> i & 1) == 0 ? 1 : 2;
+            mapped[i] = digits[permutation[i]] * scale % 3;
+          }
+          LINEAR_MAPS[map * NUM_CARDS + card] = (byte) fromDigits(mapped);
+        }
+        map++;
+      }
+    }
+
+    int[] other = new int[NUM_PROPERTIES];
+    for (int first = 0; first < NUM_CARDS; first++) {
+      for (int second = 0; second < NUM_CARDS; second++) {
+        toDigits(first, digits);
+        toDigits(second, other);
+        for (int i = 0; i < NUM_PROPERTIES; i++) {
+          mapped[i] = (digits[i] - other[i] + 3) % 3;
+        }
+        DIFFERENCES[first * NUM_CARDS + second] = (byte) fromDigits(mapped);
+      }
+    }
+  }
+
+  private final long mLow;
+
+  private final long mHigh;
+
+  private CanonicalBoard(long low, long high) {
+    mLow = low;
+    mHigh = high;
+  }
+
+  public static CanonicalBoard of(Collection<Card> cards) {
+    long low = 0;
+    long high = 0;
+    for (Card card : cards) {
+      low |= CardSet.lowBit(card.index());
+      high |= CardSet.highBit(card.index());
+    }
+    long[] form = new long[2];
+    canonicalize(low, high, form);
+    return new CanonicalBoard(form[0], form[1]);
+  }
+
+  /**
+   * Writes the canonical form of the set of cards in {@code low} and {@code high} (as laid out by
+   * {@link CardSet}) to {@code form[0]} and {@code form[1]}.
+   */
+  static void canonicalize(long low, long high, long[] form) {
+    int[] cards = new int[NUM_CARDS];
+    int[] translated = new int[NUM_CARDS];
+    int numCards = CardSet.toIndices(low, high, cards);
+    long bestLow = 0;
+    long bestHigh = 0;
+    for (int origin = 0; origin < numCards; origin++) {
+      for (int i = 0; i < numCards; i++) {
+        translated[i] = DIFFERENCES[cards[i] * NUM_CARDS + cards[origin]];
+      }
+      for (int map = 0; map < NUM_LINEAR_MAPS; map++) {
+        int offset = map * NUM_CARDS;
+        long imageLow = 0;
+        long imageHigh = 0;
+        for (int i = 0; i < numCards; i++) {
+          int image = LINEAR_MAPS[offset + translated[i]];
+          imageLow |= CardSet.lowBit(image);
+          imageHigh |= CardSet.highBit(image);
+        }
+        if ((origin == 0 && map == 0) || isSmaller(imageLow, imageHigh, bestLow, bestHigh)) {
+          bestLow = imageLow;
+          bestHigh = imageHigh;
+        }
+      }
+    }
+    form[0] = bestLow;
+    form[1] = bestHigh;
+  }
+
+  /** Returns whether the lowest card in only one of the two sets is in the first. */
+  private static boolean isSmaller(long low, long high, long otherLow, long otherHigh) {
+    long difference = low ^ otherLow;
+    if (difference != 0) {
+      return (low & difference & -difference) != 0;
+    }
+    difference = high ^ otherHigh;
+    return (high & difference & -difference) != 0;
+  }
+
+  /** Returns the number of cards in the board. */
+  public int size() {
+    return Long.bitCount(mLow) + Long.bitCount(mHigh);
+  }
+
+  /** Returns the cards of the canonical form in ascending order of index. */
+  public ImmutableList<Card> getCards() {
+    int[] cards = new int[NUM_CARDS];
+    int numCards = CardSet.toIndices(mLow, mHigh, cards);
+    ImmutableList.Builder<Card> builder = ImmutableList.builder();
+    for (int i = 0; i < numCards; i++) {
+      builder.add(Card.of(cards[i]));
+    }
+    return builder.build();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (!(o instanceof CanonicalBoard)) {
+      return false;
+    }
+    CanonicalBoard other = (CanonicalBoard) o;
+    return mLow == other.mLow && mHigh == other.mHigh;
+  }
+
+  @Override
+  public int hashCode() {
+    long hash = mLow * 31 + mHigh;
+    return (int) (hash ^ (hash >>> 32));
+  }
+
+  @Override
+  public String toString() {
+    return "CanonicalBoard" + getCards();
+  }
+
+  private static int[][] permutations() {
+    int[][] permutations = new int[24][];
+    int n = 0;
+    for (int a = 0; a < NUM_PROPERTIES; a++) {
+      for (int b = 0; b < NUM_PROPERTIES; b++) {
+        for (int c = 0; c < NUM_PROPERTIES; c++) {
+          int d = 6 - a - b - c;
+          if (a != b && a != c && b != c && d != a && d != b && d != c) {
+            permutations[n++] = new int[] {a, b, c, d};
+          }
+        }
+      }
+    }
+    Preconditions.checkState(n * 16 == NUM_LINEAR_MAPS);
+    return permutations;
+  }
+
+  /** Splits a card index into its properties, number first. */
+  private static void toDigits(int card, int[] digits) {
+    for (int i = NUM_PROPERTIES - 1; i >= 0; i--) {
+      digits[i] = card % 3;
+      card /= 3;
+    }
+  }
+
+  private static int fromDigits(int[] digits) {
+    int card = 0;
+    for (int i = 0; i < NUM_PROPERTIES; i++) {
+      card = card * 3 + digits[i];
+    }
+    return card;
+  }
+}
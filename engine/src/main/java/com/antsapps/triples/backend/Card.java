@@ -0,0 +1,97 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Objects;
+import com.google.common.base.Preconditions;
+
+/**
+ * A card in a deck. Every deck has a fixed table of canonical instances (see {@link
+ * CardSpace#getCard}), and {@link #of} gets those of the standard deck of {@link #NUM_CARDS}
+ * cards. Each card is addressed by its base-3 index within its deck, which for the standard deck
+ * is {@code ((number * 3 + shape) * 3 + pattern) * 3 + color}, and two cards are equal only if
+ * they are the same instance.
+ *
+ * <p>The color, pattern, shape and number are the first four properties, and are 0 for properties
+ * that the deck doesn't have. Any further properties are only available from {@link #getValue}.
+ */
+public final class Card {
+  public static final int MAX_VARIABLES = 3;
+
+  public static final int NUM_CARDS = MAX_VARIABLES * MAX_VARIABLES * MAX_VARIABLES * MAX_VARIABLES;
+
+  public final int mNumber;
+  public final int mShape;
+  public final int mPattern;
+  public final int mColor;
+
+  private final CardSpace mCardSpace;
+
+  private final int mIndex;
+
+  private final int mPacked;
+
+  /** Only called by {@link CardSpace}, which makes the canonical instances. */
+  Card(CardSpace cardSpace, int index) {
+    mCardSpace = cardSpace;
+    mIndex = index;
+    mPacked = cardSpace.pack(index);
+    mColor = CardSpace.getValue(mPacked, 0);
+    mPattern = CardSpace.getValue(mPacked, 1);
+    mShape = CardSpace.getValue(mPacked, 2);
+    mNumber = CardSpace.getValue(mPacked, 3);
+  }
+
+  /** Returns the card of the standard deck with the given index. */
+  public static Card of(int index) {
+    return CardSpace.STANDARD.getCard(index);
+  }
+
+  public static Card of(int number, int shape, int pattern, int color) {
+    Preconditions.checkArgument(number >= 0 && number < MAX_VARIABLES, "number = %d", number);
+    Preconditions.checkArgument(shape >= 0 && shape < MAX_VARIABLES, "shape = %d", shape);
+    Preconditions.checkArgument(pattern >= 0 && pattern < MAX_VARIABLES, "pattern = %d", pattern);
+    Preconditions.checkArgument(color >= 0 && color < MAX_VARIABLES, "color = %d", color);
+    return of(
+        ((number * MAX_VARIABLES + shape) * MAX_VARIABLES + pattern) * MAX_VARIABLES + color);
+  }
+
+  /** Returns the deck that this card is from. */
+  public CardSpace getCardSpace() {
+    return mCardSpace;
+  }
+
+  /** Returns the index of this card, in the range [0, number of cards in its deck). */
+  public int index() {
+    return mIndex;
+  }
+
+  /** Returns this card packed two bits per property, as laid out by its {@link CardSpace}. */
+  public int packed() {
+    return mPacked;
+  }
+
+  /** Returns the value of property {@code i}, from 0 for the color up to the last of its deck. */
+  public int getValue(int i) {
+    Preconditions.checkElementIndex(i, mCardSpace.getNumProperties(), "property");
+    return CardSpace.getValue(mPacked, i);
+  }
+
+  @Override
+  public int hashCode() {
+    return mIndex;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    return this == object;
+  }
+
+  @Override
+  public String toString() {
+    return Objects.toStringHelper(this)
+        .add("mNumber", mNumber)
+        .add("mShape", mShape)
+        .add("mPattern", mPattern)
+        .add("mColor", mColor)
+        .toString();
+  }
+}
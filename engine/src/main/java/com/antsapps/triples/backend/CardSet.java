@@ -0,0 +1,102 @@
+package com.antsapps.triples.backend;
+
+import java.util.Arrays;
+
+/**
+ * A set of cards held as a presence set with a bit for each card of the deck, card {@code i} in bit
+ * {@code i % 64} of word {@code i / 64}. Membership, adding and removing are constant time, and
+ * counting takes a word at a time; none of them allocate. The standard deck's 81 cards take two
+ * words.
+ *
+ * <p>The static methods work on a set of the standard deck held in two bare longs, the low and
+ * high word, for code that keeps many such sets.
+ */
+final class CardSet {
+
+  private final long[] mWords;
+
+  CardSet(int numCards) {
+    mWords = new long[(numCards + 63) / 64];
+  }
+
+  static boolean contains(long low, long high, int index) {
+    if (index < 64) {
+      return (low & (1L << index)) != 0;
+    } else {
+      return (high & (1L << (index - 64))) != 0;
+    }
+  }
+
+  /** Returns the bit for the card in the low word, or 0 if it is in the high word. */
+  static long lowBit(int index) {
+    return index < 64 ? 1L << index : 0;
+  }
+
+  /** Returns the bit for the card in the high word, or 0 if it is in the low word. */
+  static long highBit(int index) {
+    return index < 64 ? 0 : 1L << (index - 64);
+  }
+
+  /**
+   * Writes the indices of the cards in the set in ascending order to {@code indices}, and returns
+   * how many there are.
+   */
+  static int toIndices(long low, long high, int[] indices) {
+    int size = 0;
+    for (long bits = low; bits != 0; bits &= bits - 1) {
+      indices[size++] = Long.numberOfTrailingZeros(bits);
+    }
+    for (long bits = high; bits != 0; bits &= bits - 1) {
+      indices[size++] = 64 + Long.numberOfTrailingZeros(bits);
+    }
+    return size;
+  }
+
+  boolean contains(int index) {
+    return (mWords[index >>> 6] & (1L << index)) != 0;
+  }
+
+  boolean contains(Card card) {
+    return contains(card.index());
+  }
+
+  boolean containsAll(Card... cards) {
+    for (Card card : cards) {
+      if (card == null || !contains(card)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void add(Card card) {
+    int index = card.index();
+    mWords[index >>> 6] |= 1L << index;
+  }
+
+  void remove(Card card) {
+    int index = card.index();
+    mWords[index >>> 6] &= ~(1L << index);
+  }
+
+  void clear() {
+    Arrays.fill(mWords, 0);
+  }
+
+  int size() {
+    int size = 0;
+    for (long word : mWords) {
+      size += Long.bitCount(word);
+    }
+    return size;
+  }
+
+  boolean isEmpty() {
+    for (long word : mWords) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,13 @@
+package com.antsapps.triples.backend;
+
+/** Where the cards dealt onto a {@link Board} come from. */
+interface CardSource {
+
+  boolean isEmpty();
+
+  /**
+   * Returns the next card to deal, given the board it's about to be added to. The card mustn't
+   * already be in play.
+   */
+  Card getNextCard(Board board);
+}
@@ -0,0 +1,295 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Random;
+
+/**
+ * A deck of cards with a given number of properties, each of which has three values. The standard
+ * deck has four properties and {@link Card#NUM_CARDS} cards; the beginner deck has three and the
+ * expert deck five.
+ *
+ * <p>Cards are packed into an {@code int} with two bits per property, the last property in the
+ * lowest bits, so for the standard deck the packed card is the same as {@link Utils#cardToByte}.
+ * Three values of a property make a valid triple if they are all the same or all different, that
+ * is if they sum to 0 mod 3. For two different values the third is the one with neither of their
+ * bits, {@code first ^ second ^ 3}, so the completion of two cards is worked out for every
+ * property at once with a few bitwise operations on the packed words.
+ *
+ * <p>Only three values per property are supported, as that is what lets each property fit in two
+ * bits and the bitwise completion work.
+ *
+ * <p>Each deck has its own canonical {@link Card}s and its own {@link CompletionTable}, which is
+ * built the first time it's needed, and the {@link Deck}, {@link Board} and {@link CardSet} of a
+ * game are sized for its deck. Games can be played with decks of {@link #MIN_PLAYABLE_PROPERTIES}
+ * to {@link #MAX_PLAYABLE_PROPERTIES} properties; the smaller decks have too few cards to deal
+ * {@link Game#MIN_CARDS_IN_PLAY}, and for larger ones the board could hold more cards than fit in
+ * the {@code long} of changed slots that {@link Game} reports.
+ */
+public final class CardSpace {
+
+  public static final int NUM_VALUES = 3;
+
+  /** The most properties that fit in an {@code int} at two bits each. */
+  public static final int MAX_PROPERTIES = 16;
+
+  public static final int MIN_PLAYABLE_PROPERTIES = 3;
+
+  public static final int MAX_PLAYABLE_PROPERTIES = 5;
+
+  /**
+   * The most cards there can be without a valid triple in a deck of each number of properties up
+   * to {@link #MAX_PLAYABLE_PROPERTIES}, that is the size of the largest cap in dimension n.
+   */
+  private static final int[] MAX_CARDS_WITHOUT_TRIPLE = {1, 2, 4, 9, 20, 45};
+
+  public static final CardSpace BEGINNER = new CardSpace(3);
+
+  public static final CardSpace STANDARD = new CardSpace(4);
+
+  public static final CardSpace EXPERT = new CardSpace(5);
+
+  private final int mNumProperties;
+
+  private final int mNumCards;
+
+  /** The low bit of every property. */
+  private final int mLowBits;
+
+  /** Both bits of every property. */
+  private final int mAllBits;
+
+  /** The number of bits a packed card takes. */
+  private final int mCardBits;
+
+  /** The number of packed cards that fit in a {@code long}. */
+  private final int mCardsPerLong;
+
+  /** {@link #mLowBits} repeated for every card that fits in a {@code long}. */
+  private final long mLowBitsPerLong;
+
+  /** The canonical instance of every card, by index, or null if the deck isn't playable. */
+  private final Card[] mCards;
+
+  /** Whether a packed card fits in a byte, which it does for up to four properties. */
+  private final boolean mPackedFitsInByte;
+
+  /** The card for each byte made by {@link #toByte}, or null. */
+  private final Card[] mCardsByByte = new Card[256];
+
+  private CompletionTable mCompletionTable;
+
+  public CardSpace(int numProperties) {
+    Preconditions.checkArgument(
+        numProperties > 0 && numProperties <= MAX_PROPERTIES,
+        "Invalid number of properties: %s",
+        numProperties);
+    mNumProperties = numProperties;
+    int numCards = 1;
+    int lowBits = 0;
+    for (int i = 0; i < numProperties; i++) {
+      numCards *= NUM_VALUES;
+      lowBits |= 1 << (2 * i);
+    }
+    mNumCards = numCards;
+    mLowBits = lowBits;
+    mAllBits = lowBits | lowBits << 1;
+    mCardBits = 2 * numProperties;
+    mCardsPerLong = Long.SIZE / mCardBits;
+    long lowBitsPerLong = 0;
+    for (int i = 0; i < mCardsPerLong; i++) {
+      lowBitsPerLong |= (lowBits & 0xffffffffL) << (i * mCardBits);
+    }
+    mLowBitsPerLong = lowBitsPerLong;
+    mPackedFitsInByte = mCardBits <= Byte.SIZE;
+    if (isPlayable()) {
+      mCards = new Card[numCards];
+      for (int index = 0; index < numCards; index++) {
+        mCards[index] = new Card(this, index);
+        mCardsByByte[toByte(mCards[index]) & 0xff] = mCards[index];
+      }
+    } else {
+      mCards = null;
+    }
+  }
+
+  public int getNumProperties() {
+    return mNumProperties;
+  }
+
+  public int getNumCards() {
+    return mNumCards;
+  }
+
+  /** Returns the number of valid triples in the deck. */
+  public long getNumTriples() {
+    return (long) mNumCards * (mNumCards - 1) / 6;
+  }
+
+  /** Returns the canonical card with the given base-3 index. The deck must be playable. */
+  public Card getCard(int index) {
+    checkPlayable();
+    Preconditions.checkElementIndex(index, mNumCards, "index");
+    return mCards[index];
+  }
+
+  /** Returns whether games can be played with this deck. */
+  public boolean isPlayable() {
+    return mNumProperties >= MIN_PLAYABLE_PROPERTIES && mNumProperties <= MAX_PLAYABLE_PROPERTIES;
+  }
+
+  /**
+   * Returns the most cards there can be in play in a game with this deck: more cards are only
+   * dealt when there isn't a valid triple, so this is the first multiple of three above the
+   * largest set of cards without one, or {@link Game#MIN_CARDS_IN_PLAY} if that's more.
+   */
+  public int getMaxCardsInPlay() {
+    checkPlayable();
+    return Math.max(
+        Game.MIN_CARDS_IN_PLAY, (MAX_CARDS_WITHOUT_TRIPLE[mNumProperties] / 3 + 1) * 3);
+  }
+
+  /**
+   * Returns the most valid triples there can be in play. Each pair of cards is in exactly one
+   * triple, so this is ({@link #getMaxCardsInPlay} choose 2) / 3.
+   */
+  public int getMaxValidTriplesInPlay() {
+    int maxCards = getMaxCardsInPlay();
+    return maxCards * (maxCards - 1) / 6;
+  }
+
+  /** Returns the lookup tables for this deck, building them the first time. */
+  synchronized CompletionTable getCompletionTable() {
+    checkPlayable();
+    if (mCompletionTable == null) {
+      mCompletionTable = new CompletionTable(this);
+    }
+    return mCompletionTable;
+  }
+
+  /**
+   * Returns the card as a byte, as a {@link Deck} holds it: the packed card for decks of up to four
+   * properties, which for the standard deck is the same as {@link Utils#cardToByte}, or else the
+   * card's index, which fits for every playable deck.
+   */
+  byte toByte(Card card) {
+    return (byte) (mPackedFitsInByte ? card.packed() : card.index());
+  }
+
+  /** Returns the card made into {@code b} by {@link #toByte}. */
+  Card fromByte(byte b) {
+    Card card = mCardsByByte[b & 0xff];
+    Preconditions.checkArgument(card != null, "Invalid card: %s", b);
+    return card;
+  }
+
+  private void checkPlayable() {
+    Preconditions.checkState(
+        isPlayable(), "Games can't be played with %s properties", mNumProperties);
+  }
+
+  /** Returns the packed card with the given base-3 index, as used by {@link Card#index}. */
+  public int pack(int index) {
+    Preconditions.checkElementIndex(index, mNumCards, "index");
+    int card = 0;
+    for (int i = 0; i < mNumProperties; i++) {
+      card |= (index % NUM_VALUES) << (2 * i);
+      index /= NUM_VALUES;
+    }
+    return card;
+  }
+
+  /** Returns the base-3 index of a packed card. */
+  public int unpack(int card) {
+    int index = 0;
+    for (int i = mNumProperties - 1; i >= 0; i--) {
+      index = index * NUM_VALUES + getValue(card, i);
+    }
+    return index;
+  }
+
+  /**
+   * Returns the value held in bits {@code 2 * i} and {@code 2 * i + 1} of a packed card. For the
+   * standard deck, {@code i} is 0 for the color and 3 for the number.
+   */
+  public static int getValue(int card, int i) {
+    return (card >>> (2 * i)) & 3;
+  }
+
+  /** Returns whether {@code card} is a packed card of this deck. */
+  public boolean isCard(int card) {
+    // No bits outside the deck's properties, and no property with both bits set.
+    return (card & ~mAllBits) == 0 && (card & (card >>> 1) & mLowBits) == 0;
+  }
+
+  /**
+   * Returns the packed card that makes a valid triple with the two packed cards. If the two cards
+   * are the same the result is that card.
+   */
+  public int complete(int first, int second) {
+    int different = first ^ second;
+    // Both bits of every property in which the cards differ.
+    int differentBits = (different | (different >>> 1)) & mLowBits;
+    differentBits |= differentBits << 1;
+    return ((different ^ mAllBits) & differentBits) | (first & ~differentBits);
+  }
+
+  public boolean isValidTriple(int first, int second, int third) {
+    return first != second & complete(first, second) == third;
+  }
+
+  /**
+   * Checks up to 64 triples of packed cards in one call. Triple {@code i} is {@code firsts[from +
+   * i]}, {@code seconds[from + i]} and {@code thirds[from + i]}, and bit {@code i} of the result is
+   * set if it is valid.
+   *
+   * <p>The cards are packed side by side into {@code long}s, eight at a time for the standard deck,
+   * and completed with the same bitwise operations as {@link #complete}, which work across the
+   * whole word because every property is in its own two bits.
+   */
+  public long validTriples(int[] firsts, int[] seconds, int[] thirds, int from, int count) {
+    Preconditions.checkArgument(count >= 0 && count <= Long.SIZE, "Invalid count: %s", count);
+    long allBitsPerLong = mLowBitsPerLong | mLowBitsPerLong << 1;
+    long cardMask = mAllBits & 0xffffffffL;
+    long valid = 0;
+    for (int start = 0; start < count; start += mCardsPerLong) {
+      int numCards = Math.min(mCardsPerLong, count - start);
+      long first = 0;
+      long second = 0;
+      long third = 0;
+      for (int i = 0; i < numCards; i++) {
+        int shift = i * mCardBits;
+        first |= (firsts[from + start + i] & cardMask) << shift;
+        second |= (seconds[from + start + i] & cardMask) << shift;
+        third |= (thirds[from + start + i] & cardMask) << shift;
+      }
+      long different = first ^ second;
+      long differentBits = (different | (different >>> 1)) & mLowBitsPerLong;
+      differentBits |= differentBits << 1;
+      long wrong =
+          (((different ^ allBitsPerLong) & differentBits) | (first & ~differentBits)) ^ third;
+      for (int i = 0; i < numCards; i++) {
+        int shift = i * mCardBits;
+        if ((different >>> shift & cardMask) != 0 && (wrong >>> shift & cardMask) == 0) {
+          valid |= 1L << (start + i);
+        }
+      }
+    }
+    return valid;
+  }
+
+  /** Returns every packed card in the order that {@link Deck} shuffles the standard deck. */
+  public int[] shuffledDeck(Random random) {
+    int[] cards = new int[mNumCards];
+    for (int index = 0; index < mNumCards; index++) {
+      cards[index] = pack(index);
+    }
+    for (int i = mNumCards; i > 1; i--) {
+      int j = random.nextInt(i);
+      int card = cards[i - 1];
+      cards[i - 1] = cards[j];
+      cards[j] = card;
+    }
+    return cards;
+  }
+}
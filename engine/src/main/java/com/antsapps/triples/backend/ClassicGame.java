@@ -0,0 +1,109 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+public class ClassicGame extends Game {
+
+  public static final String GAME_TYPE_FOR_ANALYTICS = "classic";
+
+  /** Creates a game whose timer doesn't tick, for running games with nothing to display. */
+  public static ClassicGame createFromSeed(long seed) {
+    return createFromSeed(seed, Clock.SYSTEM);
+  }
+
+  public static ClassicGame createFromSeed(long seed, Clock clock) {
+    return createFromSeed(seed, clock, CardSpace.STANDARD);
+  }
+
+  /**
+   * Creates a game played with {@code cardSpace}, which must be playable. Only games with the
+   * standard deck can be saved.
+   */
+  public static ClassicGame createFromSeed(long seed, Clock clock, CardSpace cardSpace) {
+    ClassicGame game =
+        new ClassicGame(
+            -1,
+            seed,
+            Collections.<Card>emptyList(),
+            new Deck(cardSpace, new Random(seed)),
+            0,
+            new Date(),
+            GameState.STARTING,
+            clock);
+    game.init();
+    return game;
+  }
+
+  ClassicGame(
+      long id,
+      long seed,
+      List<Card> cardsInPlay,
+      Deck cardsInDeck,
+      long timeElapsed,
+      Date date,
+      GameState gameState,
+      Clock clock) {
+    super(id, seed, cardsInPlay, cardsInDeck, timeElapsed, date, gameState, clock);
+  }
+
+  /**
+   * A game is in a valid state if any of the following are true:
+   *
+   * <ul>
+   *   <li>It is completed and there are no cards in the deck and no valid triples on the board.
+   *   <li>It is not completed and there are at least {@link #MIN_CARDS_IN_PLAY} cards in play and
+   *       at least one valid triple.
+   * </ul>
+   */
+  @Override
+  protected boolean isGameInValidState() {
+    switch (mGameState) {
+      case COMPLETED:
+        return !checkIfAnyValidTriples() && mDeck.isEmpty();
+      case PAUSED:
+      case ACTIVE:
+      case STARTING:
+        return checkIfAnyValidTriples()
+            && (mBoard.size() >= MIN_CARDS_IN_PLAY || mDeck.isEmpty());
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public void commitTriple(Card... cards) {
+    super.commitTriple(cards);
+
+    if (!checkIfAnyValidTriples()) {
+      finish();
+    }
+  }
+
+  /**
+   * Returns a copy of the game as it is now, with the same id, which can be handed to another
+   * thread to save. The game must be played with the standard deck.
+   */
+  ClassicGame copy() {
+    Preconditions.checkState(
+        getCardSpace() == CardSpace.STANDARD, "Only games with the standard deck can be saved");
+    return new ClassicGame(
+        getId(),
+        getRandomSeed(),
+        mBoard.toImmutableList(),
+        Deck.fromByteArray(mDeck.toByteArray()),
+        getTimeElapsed(),
+        getDateStarted(),
+        mGameState,
+        Clock.SYSTEM);
+  }
+
+  @Override
+  public String getGameTypeForAnalytics() {
+    return GAME_TYPE_FOR_ANALYTICS;
+  }
+}
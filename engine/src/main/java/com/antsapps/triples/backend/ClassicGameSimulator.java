@@ -0,0 +1,108 @@
+package com.antsapps.triples.backend;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays classic games to completion without a UI, to find out how the game behaves over a large
+ * number of seeds.
+ *
+ * <p>Each game is created with {@link ClassicGame#createFromSeed(long)}, so nothing ticks, and is
+ * played by a player who takes a random valid triple, chosen with a {@link Random} seeded from the
+ * game's seed so that results are repeatable. Ranges of seeds are split across all cores with
+ * fork/join, and only the aggregated {@link SimulationResult} for each range is kept.
+ */
+public final class ClassicGameSimulator {
+
+  /** Ranges of seeds at most this big are played on a single thread. */
+  private static final long GAMES_PER_TASK = 4096;
+
+  /** Plays {@code numGames} games using seeds starting from {@code firstSeed}, on all cores. */
+  public static SimulationResult simulate(long firstSeed, long numGames) {
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      return pool.invoke(new SimulateTask(firstSeed, numGames));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private static class SimulateTask extends RecursiveTask<SimulationResult> {
+    private final long mFirstSeed;
+    private final long mNumGames;
+
+    SimulateTask(long firstSeed, long numGames) {
+      mFirstSeed = firstSeed;
+      mNumGames = numGames;
+    }
+
+    @Override
+    protected SimulationResult compute() {
+      if (mNumGames <= GAMES_PER_TASK) {
+        SimulationResult result = new SimulationResult();
+        Player player = new Player();
+        for (long seed = mFirstSeed; seed < mFirstSeed + mNumGames; seed++) {
+          player.play(seed, result);
+        }
+        return result;
+      }
+      long half = mNumGames / 2;
+      SimulateTask first = new SimulateTask(mFirstSeed, half);
+      SimulateTask second = new SimulateTask(mFirstSeed + half, mNumGames - half);
+      first.fork();
+      SimulationResult result = second.compute();
+      result.add(first.join());
+      return result;
+    }
+  }
+
+  /** Plays games one after another, reusing its buffers so moves don't allocate. */
+  static class Player {
+    private final int[] mSlots = new int[3 * Game.MAX_VALID_TRIPLES_IN_PLAY];
+    private final Card[] mTriple = new Card[3];
+    private final Random mRandom = new Random();
+
+    void play(long seed, SimulationResult result) {
+      ClassicGame game = ClassicGame.createFromSeed(seed);
+      mRandom.setSeed(~seed);
+      int largestBoardSize = 0;
+      int numStuckBoards = (game.mBoard.size() - Game.MIN_CARDS_IN_PLAY) / 3;
+      while (game.getGameState() != Game.GameState.COMPLETED) {
+        Board board = game.mBoard;
+        int numTriples = board.getValidTripleSlots(mSlots);
+        result.addBoard(board.size(), numTriples);
+        largestBoardSize = Math.max(largestBoardSize, board.size());
+
+        int triple = mRandom.nextInt(numTriples);
+        for (int i = 0; i < 3; i++) {
+          mTriple[i] = board.get(mSlots[triple * 3 + i]);
+        }
+        int cardsInPlay = board.size();
+        int cardsInDeck = game.mDeck.getCardsRemaining();
+        game.commitTriple(mTriple);
+
+        // Any cards dealt beyond refilling the board to the minimum were dealt because there was no
+        // valid triple.
+        int refill = Math.min(cardsInDeck, Math.max(0, Game.MIN_CARDS_IN_PLAY - cardsInPlay + 3));
+        numStuckBoards += (cardsInDeck - game.mDeck.getCardsRemaining() - refill) / 3;
+      }
+      // The last commit may have dealt more cards without finding a triple, leaving the largest
+      // board of the game, which the loop never saw.
+      largestBoardSize = Math.max(largestBoardSize, game.mBoard.size());
+      result.addGame(largestBoardSize, game.getCardsRemaining(), numStuckBoards);
+    }
+  }
+
+  /** Usage: ClassicGameSimulator [numGames [firstSeed]] */
+  public static void main(String[] args) {
+    long numGames = args.length > 0 ? Long.parseLong(args[0]) : 1000000;
+    long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+    long start = System.currentTimeMillis();
+    SimulationResult result = simulate(firstSeed, numGames);
+    System.out.print(result);
+    System.out.println("Took " + (System.currentTimeMillis() - start) + "ms");
+  }
+
+  private ClassicGameSimulator() {}
+}
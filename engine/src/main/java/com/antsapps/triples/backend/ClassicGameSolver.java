@@ -0,0 +1,615 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds the best way to play a classic game, given the order of its deck.
+ *
+ * <p>The position of a game is entirely described by the set of cards in play and how many cards
+ * have been dealt, because dealing always takes the next cards of the deck. The solver searches
+ * every choice of triple from each position, depth first, with:
+ *
+ * <ul>
+ *   <li>a transposition table keyed by the cards in play and the deck position, so positions
+ *       reached by taking the same triples in a different order are only searched once. The
+ *       fixed deck order breaks every other symmetry of the cards, so this is the only one used;
+ *   <li>dominance pruning once the deck has run out: a triple none of whose cards is in any other
+ *       valid triple stays valid whatever else is taken, so every finished game takes it and
+ *       taking it first loses nothing. It is played as the only move. While cards are still to be
+ *       dealt the order of moves changes what is dealt, so no move dominates another;
+ *   <li>a cutoff as soon as a position is found to reach the best possible outcome, zero;
+ *   <li>move ordering that tries the move stored in the transposition table first, then moves that
+ *       don't need extra cards dealt, then moves that leave fewer cards in play;
+ *   <li>the first few levels of the tree searched in parallel with fork/join.
+ * </ul>
+ *
+ * <p>If the node budget runs out, the rest of each remaining subtree is played out with its first
+ * move, so the solution is still a real way of playing the game but may not be the best one.
+ *
+ * <p>A solver can be reused for many seeds, but can only solve one seed at a time. A parallel
+ * solver should be closed once it is finished with, to stop the threads it searches on.
+ */
+public final class ClassicGameSolver {
+
+  /** What the solver tries to minimize. */
+  public enum Objective {
+    /** The number of cards left in play when the game ends. */
+    CARDS_REMAINING,
+    /** The number of times three more cards have to be dealt because there is no valid triple. */
+    EXTRA_DEALS
+  }
+
+  /** The outcome of the best play found for a game, and the triples to take to get it. */
+  public static final class Solution {
+    private final int mValue;
+    private final boolean mExact;
+    private final long mNodes;
+    private final ImmutableList<ImmutableSet<Card>> mTriples;
+
+    private Solution(
+        int value, boolean exact, long nodes, ImmutableList<ImmutableSet<Card>> triples) {
+      mValue = value;
+      mExact = exact;
+      mNodes = nodes;
+      mTriples = triples;
+    }
+
+    /** Returns the number of cards remaining or extra deals, depending on the objective. */
+    public int getValue() {
+      return mValue;
+    }
+
+    /** Returns whether the search finished, so no play gives a better value. */
+    public boolean isExact() {
+      return mExact;
+    }
+
+    /** Returns the number of positions searched. */
+    public long getNodes() {
+      return mNodes;
+    }
+
+    /** Returns the triples to take, in order. */
+    public ImmutableList<ImmutableSet<Card>> getTriples() {
+      return mTriples;
+    }
+
+    @Override
+    public String toString() {
+      return mValue + (mExact ? "" : " (inexact)") + " after " + mNodes + " nodes";
+    }
+  }
+
+  /** The most triples that can be taken in a game. */
+  private static final int MAX_MOVES = Card.NUM_CARDS / 3;
+
+  /** Levels of the tree above this are searched in parallel. */
+  private static final int SPLIT_DEPTH = 2;
+
+  /** Searchers add their node counts to the total in batches of this size. */
+  private static final int NODE_BATCH = 1024;
+
+  private static final int INEXACT = 1 << 16;
+
+  private static final int VALUE_MASK = INEXACT - 1;
+
+  private final Objective mObjective;
+
+  private final long mNodeBudget;
+
+  private final TranspositionTable mTable;
+
+  /** The pool that searches the first levels of the tree, or null to search on one thread. */
+  private final ForkJoinPool mPool;
+
+  /** The card index at each position of the deck being solved. */
+  private final byte[] mDeck = new byte[Card.NUM_CARDS];
+
+  private final AtomicLong mNodes = new AtomicLong();
+
+  /** Set once a line reaching the best possible value has been found. */
+  private volatile boolean mDone;
+
+  /**
+   * @param nodeBudget the number of positions to search before settling for the best play found
+   *     so far.
+   * @param log2TableSize the log2 of the number of transposition table entries. Each entry takes
+   *     16 bytes.
+   * @param parallel whether to search on all cores. Callers that already solve many seeds in
+   *     parallel should search each one on a single thread.
+   */
+  public ClassicGameSolver(
+      Objective objective, long nodeBudget, int log2TableSize, boolean parallel) {
+    Preconditions.checkArgument(log2TableSize > 0 && log2TableSize < 30);
+    mObjective = objective;
+    mNodeBudget = nodeBudget;
+    mTable = new TranspositionTable(log2TableSize);
+    mPool = parallel ? new ForkJoinPool() : null;
+  }
+
+  public ClassicGameSolver(Objective objective, long nodeBudget) {
+    this(objective, nodeBudget, 20, true);
+  }
+
+  /** Shuts down the threads a parallel solver searches on. The solver can't be used after this. */
+  public void close() {
+    if (mPool != null) {
+      mPool.shutdown();
+    }
+  }
+
+  /** Solves the game that {@link ClassicGame#createFromSeed} deals for {@code seed}. */
+  public Solution solve(long seed) {
+    Deck deck = new Deck(new Random(seed));
+    for (int i = 0; i < Card.NUM_CARDS; i++) {
+      mDeck[i] = (byte) deck.getNextCard().index();
+    }
+    mTable.clear();
+    mNodes.set(0);
+    mDone = false;
+
+    // Deal the first cards the same way Board.dealInitialCards does.
+    Searcher searcher = new Searcher();
+    long low = 0;
+    long high = 0;
+    int position = 0;
+    int extraDeals = 0;
+    while (position < Game.MIN_CARDS_IN_PLAY || !searcher.hasValidTriple(low, high)) {
+      if (position >= Game.MIN_CARDS_IN_PLAY) {
+        extraDeals++;
+      }
+      for (int i = 0; i < 3; i++) {
+        int card = mDeck[position++];
+        low |= CardSet.lowBit(card);
+        high |= CardSet.highBit(card);
+      }
+    }
+
+    int initialExtraDeals = extraDeals;
+    int result =
+        mPool != null
+            ? mPool.invoke(new SearchTask(low, high, position, 0, 0))
+            : searcher.search(low, high, position, 0, 0);
+    searcher.flushNodes();
+
+    // Follow the best moves from the transposition table, searching again for any that have been
+    // overwritten since.
+    List<ImmutableSet<Card>> triples = Lists.newArrayList();
+    while (true) {
+      long entry = mTable.probe(low, high, position);
+      if (entry == TranspositionTable.NOT_FOUND) {
+        // The zero cutoff from the first search would stop this one after its first move.
+        mDone = false;
+        searcher.search(low, high, position, 0, 0);
+        entry = mTable.probe(low, high, position);
+      }
+      if (entry == TranspositionTable.NOT_FOUND || TranspositionTable.getMove(entry) == 0) {
+        break;
+      }
+      int move = TranspositionTable.getMove(entry);
+      triples.add(
+          ImmutableSet.of(
+              Card.of(moveCard(move, 0)), Card.of(moveCard(move, 1)), Card.of(moveCard(move, 2))));
+      searcher.play(low, high, position, move, 0, 0);
+      low = searcher.mLow[0][0];
+      high = searcher.mHigh[0][0];
+      position = searcher.mPosition[0][0];
+      extraDeals += searcher.mCost[0][0];
+    }
+    searcher.flushNodes();
+
+    int value =
+        mObjective == Objective.CARDS_REMAINING
+            ? Long.bitCount(low) + Long.bitCount(high)
+            : extraDeals;
+    int searchedValue = mObjective == Objective.CARDS_REMAINING ? value : value - initialExtraDeals;
+    boolean exact = (result & INEXACT) == 0 && searchedValue == (result & VALUE_MASK);
+    return new Solution(value, exact, mNodes.get(), ImmutableList.copyOf(triples));
+  }
+
+  private boolean isStopped() {
+    return mDone || mNodes.get() >= mNodeBudget;
+  }
+
+  /** Packs a triple into a move, which is never zero. */
+  private static int move(int first, int second, int third) {
+    return 1 << 21 | first << 14 | second << 7 | third;
+  }
+
+  private static int moveCard(int move, int i) {
+    return (move >>> (14 - 7 * i)) & 0x7f;
+  }
+
+  private static long moveLowBits(int move) {
+    return CardSet.lowBit(moveCard(move, 0))
+        | CardSet.lowBit(moveCard(move, 1))
+        | CardSet.lowBit(moveCard(move, 2));
+  }
+
+  private static long moveHighBits(int move) {
+    return CardSet.highBit(moveCard(move, 0))
+        | CardSet.highBit(moveCard(move, 1))
+        | CardSet.highBit(moveCard(move, 2));
+  }
+
+  /**
+   * Searches the first levels of the tree, forking a task for each move and combining their
+   * results the same way {@link Searcher#search} does.
+   */
+  private class SearchTask extends RecursiveTask<Integer> {
+    private final long mLow;
+    private final long mHigh;
+    private final int mPosition;
+    private final int mDepth;
+    private final int mPathCost;
+
+    SearchTask(long low, long high, int position, int depth, int pathCost) {
+      mLow = low;
+      mHigh = high;
+      mPosition = position;
+      mDepth = depth;
+      mPathCost = pathCost;
+    }
+
+    @Override
+    protected Integer compute() {
+      Searcher searcher = new Searcher();
+      try {
+        if (mDepth >= SPLIT_DEPTH) {
+          return searcher.search(mLow, mHigh, mPosition, mDepth, mPathCost);
+        }
+        searcher.countNode();
+        long entry = mTable.probe(mLow, mHigh, mPosition);
+        if (entry != TranspositionTable.NOT_FOUND && TranspositionTable.isExact(entry)) {
+          return TranspositionTable.getValue(entry);
+        }
+        int hint = entry == TranspositionTable.NOT_FOUND ? 0 : TranspositionTable.getMove(entry);
+        int numMoves = searcher.generateMoves(mLow, mHigh, mPosition, mDepth, hint);
+        if (numMoves == 0) {
+          return searcher.terminalValue(mLow, mHigh);
+        }
+
+        List<SearchTask> tasks = Lists.newArrayListWithCapacity(numMoves);
+        for (int i = 0; i < numMoves; i++) {
+          int m = searcher.mOrder[mDepth][i];
+          tasks.add(
+              new SearchTask(
+                  searcher.mLow[mDepth][m],
+                  searcher.mHigh[mDepth][m],
+                  searcher.mPosition[mDepth][m],
+                  mDepth + 1,
+                  mPathCost + searcher.mCost[mDepth][m]));
+        }
+        invokeAll(tasks);
+
+        int best = Integer.MAX_VALUE;
+        int bestMove = 0;
+        boolean exact = true;
+        for (int i = 0; i < numMoves; i++) {
+          int m = searcher.mOrder[mDepth][i];
+          int result = tasks.get(i).join();
+          int value = searcher.mCost[mDepth][m] + (result & VALUE_MASK);
+          exact &= (result & INEXACT) == 0;
+          if (value < best) {
+            best = value;
+            bestMove = searcher.mMove[mDepth][m];
+          }
+        }
+        return searcher.store(mLow, mHigh, mPosition, mPathCost, best, bestMove, exact);
+      } finally {
+        searcher.flushNodes();
+      }
+    }
+  }
+
+  /** A depth first search on one thread, with buffers for every level so it doesn't allocate. */
+  private class Searcher {
+    final long[][] mLow = new long[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    final long[][] mHigh = new long[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    final int[][] mPosition = new int[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    final int[][] mCost = new int[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    final int[][] mMove = new int[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    final int[][] mOrder = new int[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    private final int[][] mSortKey = new int[MAX_MOVES + 1][Game.MAX_VALID_TRIPLES_IN_PLAY];
+    private final int[][] mCards = new int[MAX_MOVES + 1][Game.MAX_CARDS_IN_PLAY];
+    private final int[] mScratch = new int[Game.MAX_CARDS_IN_PLAY];
+    private int mUncountedNodes;
+
+    /**
+     * Returns the best value reachable from the position, with {@link #INEXACT} set if the search
+     * was cut short.
+     */
+    int search(long low, long high, int position, int depth, int pathCost) {
+      countNode();
+      long entry = mTable.probe(low, high, position);
+      if (entry != TranspositionTable.NOT_FOUND && TranspositionTable.isExact(entry)) {
+        return TranspositionTable.getValue(entry);
+      }
+      int hint = entry == TranspositionTable.NOT_FOUND ? 0 : TranspositionTable.getMove(entry);
+      int numMoves = generateMoves(low, high, position, depth, hint);
+      if (numMoves == 0) {
+        return terminalValue(low, high);
+      }
+
+      int best = Integer.MAX_VALUE;
+      int bestMove = 0;
+      boolean exact = true;
+      for (int i = 0; i < numMoves; i++) {
+        int m = mOrder[depth][i];
+        int cost = mCost[depth][m];
+        int result =
+            search(
+                mLow[depth][m], mHigh[depth][m], mPosition[depth][m], depth + 1, pathCost + cost);
+        int value = cost + (result & VALUE_MASK);
+        exact &= (result & INEXACT) == 0;
+        if (value < best) {
+          best = value;
+          bestMove = mMove[depth][m];
+        }
+        if (best == 0) {
+          break;
+        }
+        if (i < numMoves - 1 && isStopped()) {
+          exact = false;
+          break;
+        }
+      }
+      return store(low, high, position, pathCost, best, bestMove, exact);
+    }
+
+    int store(long low, long high, int position, int pathCost, int best, int move, boolean exact) {
+      // Nothing can do better than zero, however the rest of the tree was searched.
+      if (best == 0) {
+        exact = true;
+        if (pathCost == 0) {
+          mDone = true;
+        }
+      }
+      mTable.store(low, high, position, best, move, exact);
+      return exact ? best : best | INEXACT;
+    }
+
+    int terminalValue(long low, long high) {
+      return mObjective == Objective.CARDS_REMAINING
+          ? Long.bitCount(low) + Long.bitCount(high)
+          : 0;
+    }
+
+    /**
+     * Fills in the buffers at {@code depth} with every move from the position and the position
+     * each leads to, and returns the number of moves. {@link #mOrder} lists them best first. Once
+     * the deck has run out, a move that dominates the others is returned as the only one.
+     */
+    int generateMoves(long low, long high, int position, int depth, int hint) {
+      int[] cards = mCards[depth];
+      int numCards = CardSet.toIndices(low, high, cards);
+      int numMoves = 0;
+      for (int i = 0; i < numCards; i++) {
+        for (int j = i + 1; j < numCards; j++) {
+          int third = CompletionTable.STANDARD.complete(cards[i], cards[j]);
+          if (third > cards[j] && CardSet.contains(low, high, third)) {
+            int move = move(cards[i], cards[j], third);
+            play(low, high, position, move, depth, numMoves);
+            int cardsInPlay =
+                Long.bitCount(mLow[depth][numMoves]) + Long.bitCount(mHigh[depth][numMoves]);
+            mSortKey[depth][numMoves] =
+                (move == hint ? 0 : 1 << 16) | mCost[depth][numMoves] << 8 | cardsInPlay;
+            numMoves++;
+          }
+        }
+      }
+
+      int[] order = mOrder[depth];
+      if (position == Card.NUM_CARDS) {
+        int dominant = findDominantMove(depth, numMoves);
+        if (dominant >= 0) {
+          order[0] = dominant;
+          return 1;
+        }
+      }
+
+      // Insertion sort, as there are only a few moves.
+      int[] keys = mSortKey[depth];
+      for (int i = 0; i < numMoves; i++) {
+        int j = i;
+        while (j > 0 && keys[order[j - 1]] > keys[i]) {
+          order[j] = order[j - 1];
+          j--;
+        }
+        order[j] = i;
+      }
+      return numMoves;
+    }
+
+    /**
+     * Returns one of the moves at {@code depth} whose cards aren't in any of the others, or -1 if
+     * there isn't one.
+     */
+    private int findDominantMove(int depth, int numMoves) {
+      // The cards in at least one move and in at least two.
+      long onceLow = 0;
+      long onceHigh = 0;
+      long twiceLow = 0;
+      long twiceHigh = 0;
+      for (int m = 0; m < numMoves; m++) {
+        long low = moveLowBits(mMove[depth][m]);
+        long high = moveHighBits(mMove[depth][m]);
+        twiceLow |= onceLow & low;
+        twiceHigh |= onceHigh & high;
+        onceLow |= low;
+        onceHigh |= high;
+      }
+      for (int m = 0; m < numMoves; m++) {
+        if ((moveLowBits(mMove[depth][m]) & twiceLow) == 0
+            && (moveHighBits(mMove[depth][m]) & twiceHigh) == 0) {
+          return m;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * Takes the triple in {@code move} from the position and deals the same way {@link
+     * Board#removeTriple} does, writing the new position to entry {@code i} of the buffers at
+     * {@code depth}.
+     */
+    void play(long low, long high, int position, int move, int depth, int i) {
+      for (int k = 0; k < 3; k++) {
+        int card = moveCard(move, k);
+        low &= ~CardSet.lowBit(card);
+        high &= ~CardSet.highBit(card);
+      }
+      int numCards = Long.bitCount(low) + Long.bitCount(high);
+      while (numCards < Game.MIN_CARDS_IN_PLAY && position < Card.NUM_CARDS) {
+        for (int k = 0; k < 3; k++) {
+          int card = mDeck[position++];
+          low |= CardSet.lowBit(card);
+          high |= CardSet.highBit(card);
+        }
+        numCards += 3;
+      }
+      int extraDeals = 0;
+      while (position < Card.NUM_CARDS && !hasValidTriple(low, high)) {
+        for (int k = 0; k < 3; k++) {
+          int card = mDeck[position++];
+          low |= CardSet.lowBit(card);
+          high |= CardSet.highBit(card);
+        }
+        extraDeals++;
+      }
+      mLow[depth][i] = low;
+      mHigh[depth][i] = high;
+      mPosition[depth][i] = position;
+      mCost[depth][i] = mObjective == Objective.EXTRA_DEALS ? extraDeals : 0;
+      mMove[depth][i] = move;
+    }
+
+    boolean hasValidTriple(long low, long high) {
+      int numCards = CardSet.toIndices(low, high, mScratch);
+      for (int i = 0; i < numCards; i++) {
+        for (int j = i + 1; j < numCards; j++) {
+          if (CardSet.contains(
+              low, high, CompletionTable.STANDARD.complete(mScratch[i], mScratch[j]))) {
+            return true;
+          }
+        }
+      }
+      return false;
+    }
+
+    void countNode() {
+      if (++mUncountedNodes == NODE_BATCH) {
+        flushNodes();
+      }
+    }
+
+    void flushNodes() {
+      mNodes.addAndGet(mUncountedNodes);
+      mUncountedNodes = 0;
+    }
+  }
+
+  /**
+   * A hash table from positions to their best value and move, shared by all threads without
+   * locking.
+   *
+   * <p>Each entry is two longs: the data, which includes the high word of the cards and the deck
+   * position, and the low word of the cards XORed with the data. An entry only matches if both
+   * agree, so an entry torn by two threads writing at once just looks like a miss.
+   */
+  private static final class TranspositionTable {
+    static final long NOT_FOUND = 0;
+
+    private static final long KEY_MASK = (1L << 24) - 1;
+    private static final long EXACT = 1L << 56;
+
+    private final long[] mEntries;
+    private final int mMask;
+
+    TranspositionTable(int log2Size) {
+      mEntries = new long[2 << log2Size];
+      mMask = (1 << log2Size) - 1;
+    }
+
+    void clear() {
+      Arrays.fill(mEntries, 0);
+    }
+
+    /** Returns the data for the position, or {@link #NOT_FOUND}. */
+    long probe(long low, long high, int position) {
+      long key = key(high, position);
+      int i = indexOf(low, key);
+      long data = mEntries[i + 1];
+      long check = mEntries[i];
+      if (data != NOT_FOUND && (data & KEY_MASK) == key && (check ^ data) == low) {
+        return data;
+      }
+      return NOT_FOUND;
+    }
+
+    void store(long low, long high, int position, int value, int move, boolean exact) {
+      long key = key(high, position);
+      int i = indexOf(low, key);
+      if (!exact) {
+        // Keep an exact result for the same position over a worse guess.
+        long data = mEntries[i + 1];
+        if ((data & EXACT) != 0 && (data & KEY_MASK) == key && (mEntries[i] ^ data) == low) {
+          return;
+        }
+      }
+      long data = key | (long) value << 24 | (long) move << 32 | (exact ? EXACT : 0);
+      mEntries[i] = low ^ data;
+      mEntries[i + 1] = data;
+    }
+
+    static int getValue(long data) {
+      return (int) (data >>> 24) & 0xff;
+    }
+
+    static int getMove(long data) {
+      return (int) (data >>> 32) & ((1 << 22) - 1);
+    }
+
+    static boolean isExact(long data) {
+      return (data & EXACT) != 0;
+    }
+
+    private static long key(long high, int position) {
+      return high | (long) position << 17;
+    }
+
+    private int indexOf(long low, long key) {
+      long hash = (low * 0x9e3779b97f4a7c15L ^ key) * 0xc2b2ae3d27d4eb4fL;
+      return ((int) (hash >>> 32) & mMask) << 1;
+    }
+  }
+
+  /** Usage: ClassicGameSolver [firstSeed [numSeeds [nodeBudget]]] */
+  public static void main(String[] args) {
+    long firstSeed = args.length > 0 ? Long.parseLong(args[0]) : 0;
+    int numSeeds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+    long nodeBudget = args.length > 2 ? Long.parseLong(args[2]) : 100000000;
+    ClassicGameSolver solver = new ClassicGameSolver(Objective.CARDS_REMAINING, nodeBudget);
+    try {
+      for (long seed = firstSeed; seed < firstSeed + numSeeds; seed++) {
+        long start = System.currentTimeMillis();
+        Solution solution = solver.solve(seed);
+        System.out.println(
+            "Seed " + seed + ": " + solution + " in " + (System.currentTimeMillis() - start)
+                + "ms");
+      }
+    } finally {
+      solver.close();
+    }
+  }
+}
@@ -0,0 +1,41 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Supplier;
+
+import java.util.List;
+
+/** Created by anthony on 2/12/13. */
+public class ClassicStatistics extends Statistics {
+
+  ClassicStatistics(Supplier<List<GameSummary>> gamesInPeriod, StatisticsTotals totals) {
+    super(gamesInPeriod, totals);
+  }
+
+  public long getFastestTime() {
+    return mTotals.getMin();
+  }
+
+  public long getAverageTime() {
+    return mTotals.getAverage();
+  }
+
+  public long getSlowestTime() {
+    return mTotals.getMax();
+  }
+
+  public long getStartDate() {
+    return mTotals.getFirstDate();
+  }
+
+  public long getFinishDate() {
+    return mTotals.getLastDate();
+  }
+
+  public long getFastestDate() {
+    return mTotals.getMinDate();
+  }
+
+  public long getSlowestDate() {
+    return mTotals.getMaxDate();
+  }
+}
@@ -0,0 +1,31 @@
+package com.antsapps.triples.backend;
+
+/**
+ * Where a game's {@link Timer} gets the time from, and how it arranges to be called back once a
+ * second while it is running.
+ */
+public interface Clock {
+
+  /** Uses the system time and never calls back, for running games with nothing to display. */
+  public static final Clock SYSTEM =
+      new Clock() {
+        @Override
+        public long currentTimeMillis() {
+          return System.currentTimeMillis();
+        }
+
+        @Override
+        public void schedule(Runnable tick, long delayMillis) {}
+
+        @Override
+        public void cancel(Runnable tick) {}
+      };
+
+  long currentTimeMillis();
+
+  /** Arranges for {@code tick} to be run once, {@code delayMillis} from now. */
+  void schedule(Runnable tick, long delayMillis);
+
+  /** Cancels any runs of {@code tick} that haven't happened yet. */
+  void cancel(Runnable tick);
+}
@@ -0,0 +1,195 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Precomputed lookup tables for the geometry of a deck.
+ *
+ * <ul>
+ *   <li>The completion table holds, for every ordered pair of card indices, the index of the only
+ *       card that makes a valid triple with them, as worked out by the deck's {@link CardSpace}.
+ *   <li>The triple table lists all {@link #getNumTriples} valid triples, each as three card indices
+ *       in ascending order.
+ *   <li>The adjacency table lists, for every card, the {@link #getTriplesPerCard} triples that the
+ *       card belongs to.
+ * </ul>
+ *
+ * <p>Each deck's tables are built once, by {@link CardSpace#getCompletionTable}, and are never
+ * modified. {@link #STANDARD} holds those of the standard deck, which everything that only deals
+ * with the standard deck uses directly. Card indices are stored in bytes, which is enough for every
+ * playable deck.
+ */
+final class CompletionTable {
+
+  public static final CompletionTable STANDARD = CardSpace.STANDARD.getCompletionTable();
+
+  private final int mNumCards;
+
+  private final int mNumTriples;
+
+  private final int mTriplesPerCard;
+
+  private final byte[] mCompletions;
+
+  private final byte[] mTriples;
+
+  private final short[] mTriplesByCard;
+
+  CompletionTable(CardSpace deck) {
+    mNumCards = deck.getNumCards();
+    mNumTriples = (int) deck.getNumTriples();
+    mTriplesPerCard = (mNumCards - 1) / 2;
+    mCompletions = new byte[mNumCards * mNumCards];
+    mTriples = new byte[mNumTriples * 3];
+    mTriplesByCard = new short[mNumCards * mTriplesPerCard];
+
+    for (int first = 0; first < mNumCards; first++) {
+      for (int second = 0; second < mNumCards; second++) {
+        mCompletions[first * mNumCards + second] =
+            (byte) deck.unpack(deck.complete(deck.pack(first), deck.pack(second)));
+      }
+    }
+
+    int numTriples = 0;
+    int[] numTriplesByCard = new int[mNumCards];
+    for (int first = 0; first < mNumCards; first++) {
+      for (int second = first + 1; second < mNumCards; second++) {
+        int third = complete(first, second);
+        if (third <= second) {
+          continue;
+        }
+        mTriples[numTriples * 3] = (byte) first;
+        mTriples[numTriples * 3 + 1] = (byte) second;
+        mTriples[numTriples * 3 + 2] = (byte) third;
+        for (int card : new int[] {first, second, third}) {
+          mTriplesByCard[card * mTriplesPerCard + numTriplesByCard[card]++] = (short) numTriples;
+        }
+        numTriples++;
+      }
+    }
+
+    // Checking the tables takes a few ms, so it's only done when assertions are enabled.
+    assert verified(deck);
+  }
+
+  /** Returns the number of cards in the deck. */
+  public int getNumCards() {
+    return mNumCards;
+  }
+
+  /** Returns the number of valid triples in the deck. */
+  public int getNumTriples() {
+    return mNumTriples;
+  }
+
+  /** Returns the number of valid triples that each card is in. */
+  public int getTriplesPerCard() {
+    return mTriplesPerCard;
+  }
+
+  /**
+   * Returns the index of the card that makes a valid triple with the cards at index {@code first}
+   * and {@code second}. If the two indices are the same the result is that index.
+   */
+  public int complete(int first, int second) {
+    return mCompletions[first * mNumCards + second] & 0xff;
+  }
+
+  /** Returns the card that makes a valid triple with two cards of this table's deck. */
+  public Card complete(Card first, Card second) {
+    return first.getCardSpace().getCard(complete(first.index(), second.index()));
+  }
+
+  public boolean isValidTriple(int first, int second, int third) {
+    return first != second && (mCompletions[first * mNumCards + second] & 0xff) == third;
+  }
+
+  /** Returns the index of card {@code i} (0, 1 or 2) of the given triple. */
+  public int getCard(int triple, int i) {
+    return mTriples[triple * 3 + i] & 0xff;
+  }
+
+  /** Returns the {@code i}th (from 0 to {@link #getTriplesPerCard} - 1) triple with the card. */
+  public int getTripleContaining(int card, int i) {
+    return mTriplesByCard[card * mTriplesPerCard + i];
+  }
+
+  /**
+   * Checks every entry of the tables against the rules of the game, that is that for each property
+   * of {@code deck}, which must be the deck the tables were built for, the three cards are either
+   * all the same or all different.
+   *
+   * @throws IllegalStateException if any entry is wrong.
+   */
+  public void verify(CardSpace deck) {
+    Preconditions.checkArgument(deck.getNumCards() == mNumCards, "Wrong deck");
+    for (int first = 0; first < mNumCards; first++) {
+      for (int second = 0; second < mNumCards; second++) {
+        if (first == second) {
+          continue;
+        }
+        for (int third = 0; third < mNumCards; third++) {
+          if (third == first || third == second) {
+            continue;
+          }
+          boolean expected =
+              followsRules(deck, deck.pack(first), deck.pack(second), deck.pack(third));
+          Preconditions.checkState(
+              isValidTriple(first, second, third) == expected,
+              "Completion table is wrong for %s, %s, %s",
+              first,
+              second,
+              third);
+        }
+      }
+    }
+
+    int[] numTriplesByCard = new int[mNumCards];
+    for (int triple = 0; triple < mNumTriples; triple++) {
+      int first = getCard(triple, 0);
+      int second = getCard(triple, 1);
+      int third = getCard(triple, 2);
+      Preconditions.checkState(
+          first < second && second < third && isValidTriple(first, second, third),
+          "Triple %s is wrong",
+          triple);
+      for (int card : new int[] {first, second, third}) {
+        Preconditions.checkState(
+            getTripleContaining(card, numTriplesByCard[card]++) == triple,
+            "Triples containing card %s are wrong",
+            card);
+      }
+    }
+    for (int card = 0; card < mNumCards; card++) {
+      Preconditions.checkState(
+          numTriplesByCard[card] == mTriplesPerCard,
+          "Card %s is in %s triples",
+          card,
+          numTriplesByCard[card]);
+    }
+  }
+
+  /** Runs {@link #verify}, for use in an {@code assert}. */
+  private boolean verified(CardSpace deck) {
+    verify(deck);
+    return true;
+  }
+
+  private static boolean followsRules(CardSpace deck, int first, int second, int third) {
+    for (int i = 0; i < deck.getNumProperties(); i++) {
+      if (!followsRules(
+          CardSpace.getValue(first, i),
+          CardSpace.getValue(second, i),
+          CardSpace.getValue(third, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean followsRules(int first, int second, int third) {
+    boolean allSame = first == second && second == third;
+    boolean allDifferent = first != second && second != third && first != third;
+    return allSame || allDifferent;
+  }
+}
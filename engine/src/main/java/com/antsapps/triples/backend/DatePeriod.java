@@ -1,11 +1,8 @@
 package com.antsapps.triples.backend;
 
-import com.google.common.collect.Lists;
-
 import java.util.Date;
-import java.util.List;
 
-public final class DatePeriod<T extends Game> implements Period<T> {
+public final class DatePeriod implements Period {
 
   private final Date mSince;
 
@@ -22,13 +19,12 @@ public final class DatePeriod<T extends Game> implements Period<T> {
   }
 
   @Override
-  public List<T> filter(Iterable<T> games) {
-    List<T> filtered = Lists.newArrayList();
-    for (T game : games) {
-      if (game.getDateStarted().compareTo(mSince) >= 0) {
-        filtered.add(game);
-      }
-    }
-    return filtered;
+  public long getSince() {
+    return mSince.getTime();
+  }
+
+  @Override
+  public int getMaxNumGames() {
+    return Integer.MAX_VALUE;
   }
 }
@@ -0,0 +1,115 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Random;
+
+/**
+ * The cards of a deck that are still to be dealt, held in a fixed size circular buffer. Cards are
+ * taken from the front and re-added at the back, both in constant time.
+ *
+ * <p>Each card is stored as a byte made by {@link CardSpace#toByte}. For the standard deck that is
+ * the same encoding that is persisted in the database (see {@link Utils#cardToByte}), so converting
+ * to and from a byte array is a straight copy.
+ */
+class Deck implements CardSource {
+
+  private final CardSpace mCardSpace;
+
+  private final byte[] mCards;
+
+  /** The position in {@link #mCards} of the next card to be dealt. */
+  private int mFirst;
+
+  private int mSize;
+
+  /** Creates a shuffled standard deck. */
+  public Deck(Random random) {
+    this(CardSpace.STANDARD, random);
+  }
+
+  /** Creates a shuffled deck of every card in {@code cardSpace}, which must be playable. */
+  public Deck(CardSpace cardSpace, Random random) {
+    this(cardSpace);
+    initialize(random);
+  }
+
+  private Deck(CardSpace cardSpace) {
+    mCardSpace = cardSpace;
+    mCards = new byte[cardSpace.getNumCards()];
+  }
+
+  private void initialize(Random random) {
+    for (int index = 0; index < mCards.length; index++) {
+      mCards[index] = mCardSpace.toByte(mCardSpace.getCard(index));
+    }
+    // This is the same algorithm as Collections.shuffle, so each seed still deals the same game.
+    for (int i = mCards.length; i > 1; i--) {
+      int j = random.nextInt(i);
+      byte card = mCards[i - 1];
+      mCards[i - 1] = mCards[j];
+      mCards[j] = card;
+    }
+    mSize = mCards.length;
+  }
+
+  public CardSpace getCardSpace() {
+    return mCardSpace;
+  }
+
+  public Card getNextCard() {
+    if (mSize == 0) {
+      return null;
+    }
+    Card card = mCardSpace.fromByte(mCards[mFirst]);
+    mFirst = (mFirst + 1) % mCards.length;
+    mSize--;
+    return card;
+  }
+
+  @Override
+  public Card getNextCard(Board board) {
+    return getNextCard();
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  public int getCardsRemaining() {
+    return mSize;
+  }
+
+  public byte[] toByteArray() {
+    byte[] b = new byte[mSize];
+    int untilEnd = Math.min(mSize, mCards.length - mFirst);
+    System.arraycopy(mCards, mFirst, b, 0, untilEnd);
+    System.arraycopy(mCards, 0, b, untilEnd, mSize - untilEnd);
+    return b;
+  }
+
+  /** Returns a standard deck of the cards in {@code b}, as made by {@link #toByteArray}. */
+  public static Deck fromByteArray(byte[] b) {
+    return fromByteArray(CardSpace.STANDARD, b);
+  }
+
+  /** Returns a deck of the cards in {@code b}, as made by {@link #toByteArray}. */
+  public static Deck fromByteArray(CardSpace cardSpace, byte[] b) {
+    Preconditions.checkArgument(
+        b.length <= cardSpace.getNumCards(), "Too many cards: %s", b.length);
+    Deck deck = new Deck(cardSpace);
+    System.arraycopy(b, 0, deck.mCards, 0, b.length);
+    deck.mSize = b.length;
+    return deck;
+  }
+
+  /** To take cards from in play and re-add them to the deck. */
+  public void readdCards(Card... cards) {
+    Preconditions.checkState(mSize + cards.length <= mCards.length, "Deck is full");
+    for (Card card : cards) {
+      mCards[(mFirst + mSize) % mCards.length] = mCardSpace.toByte(card);
+      mSize++;
+    }
+  }
+}
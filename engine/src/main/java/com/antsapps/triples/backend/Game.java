@@ -0,0 +1,469 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+public abstract class Game implements Comparable<Game>, OnValidTripleSelectedListener {
+
+  public interface OnUpdateGameStateListener {
+    void onUpdateGameState(GameState state);
+
+    void gameFinished();
+  }
+
+  public interface OnUpdateCardsInPlayListener {
+    /**
+     * Called when cards are dealt or a triple is found. Bit {@code i} of {@code changedSlots} is
+     * set if the card in slot {@code i} changed; the cards themselves can be read with {@link
+     * #getCardInPlay}.
+     */
+    void onUpdateCardsInPlay(long changedSlots, int numRemaining, int numTriplesFound);
+
+    void onCardHinted(Card card);
+  }
+
+  public interface GameRenderer {
+    /**
+     * Called when cards are dealt or a triple is found, with a bit set in {@code changedSlots} for
+     * each slot whose card changed. Only those slots need to be read from {@code game}, unless the
+     * number of cards in play changed.
+     */
+    void updateCardsInPlay(Game game, long changedSlots);
+
+    void addHint(Card card);
+
+    void clearHintedCards();
+
+    Set<Card> getSelectedCards();
+  }
+
+  /**
+   * This reflects the game state as controlled by the user. This is orthogonal to that controlled
+   * by Android's activity lifecycle.
+   */
+  public enum GameState {
+    STARTING,
+    ACTIVE,
+    PAUSED,
+    COMPLETED;
+  }
+
+  public static final int MIN_CARDS_IN_PLAY = 12;
+
+  /**
+   * Any 21 cards of the standard deck contain a valid triple, and more cards are only dealt when
+   * there isn't one, so there are never more than this many cards in play. Games with other decks
+   * have {@link CardSpace#getMaxCardsInPlay}.
+   */
+  public static final int MAX_CARDS_IN_PLAY = 21;
+
+  /**
+   * Each pair of cards is in exactly one triple, so {@link #MAX_CARDS_IN_PLAY} cards make at most
+   * (21 choose 2) / 3 valid triples. Games with other decks have {@link
+   * CardSpace#getMaxValidTriplesInPlay}.
+   */
+  public static final int MAX_VALID_TRIPLES_IN_PLAY = 70;
+
+  public static final String ID_TAG = "game_id";
+
+  /** A mask of changed slots with a bit for every slot, for when everything has to be redrawn. */
+  public static final long ALL_SLOTS = -1L;
+
+  protected GameState mGameState;
+
+  private boolean mActivitiyLifecycleActive;
+
+  private int mNumTriplesFound;
+
+  protected final Deck mDeck;
+
+  private final CardSpace mCardSpace;
+
+  /** Where new cards are dealt from, which is {@link #mDeck} unless the game is endless. */
+  private final CardSource mCardSource;
+
+  protected final Board mBoard;
+
+  private final Set<Card> mHintedCards = Sets.newHashSet();
+
+  protected final Timer mTimer;
+
+  private final long mRandomSeed;
+
+  private long id;
+
+  private final Date mDate;
+
+  private GameRenderer mGameRenderer;
+
+  private final List<OnUpdateGameStateListener> mGameStateListeners = Lists.newArrayList();
+
+  private final List<OnUpdateCardsInPlayListener> mCardsInPlayListeners = Lists.newArrayList();
+
+  Game(
+      long id,
+      long seed,
+      List<Card> cardsInPlay,
+      Deck cardsInDeck,
+      long timeElapsed,
+      Date date,
+      GameState gameState,
+      Clock clock) {
+    this(id, seed, cardsInPlay, cardsInDeck, cardsInDeck, timeElapsed, date, gameState, clock);
+  }
+
+  Game(
+      long id,
+      long seed,
+      List<Card> cardsInPlay,
+      Deck cardsInDeck,
+      CardSource cardSource,
+      long timeElapsed,
+      Date date,
+      GameState gameState,
+      Clock clock) {
+    this.id = id;
+    mRandomSeed = seed;
+    mCardSpace = cardsInDeck.getCardSpace();
+    mBoard = new Board(mCardSpace, cardsInPlay);
+    mDeck = cardsInDeck;
+    mCardSource = cardSource;
+    mTimer = new Timer(timeElapsed, clock);
+    mDate = date;
+    mGameState = gameState;
+  }
+
+  public void setGameRenderer(GameRenderer gameRenderer) {
+    mGameRenderer = gameRenderer;
+  }
+
+  public void addOnTimerTickListener(OnTimerTickListener listener) {
+    mTimer.addOnTimerTickListener(listener);
+  }
+
+  public void removeOnTimerTickListener(OnTimerTickListener listener) {
+    mTimer.removeOnTimerTickListener(listener);
+  }
+
+  public void addOnUpdateGameStateListener(OnUpdateGameStateListener listener) {
+    mGameStateListeners.add(listener);
+  }
+
+  public void removeOnUpdateGameStateListener(OnUpdateGameStateListener listener) {
+    mGameStateListeners.remove(listener);
+  }
+
+  public void addOnUpdateCardsInPlayListener(OnUpdateCardsInPlayListener listener) {
+    mCardsInPlayListeners.add(listener);
+  }
+
+  public void removeOnUpdateCardsInPlayListener(OnUpdateCardsInPlayListener listener) {
+    mCardsInPlayListeners.remove(listener);
+  }
+
+  protected void init() {
+    // Add cards so there is at least one valid triple.
+    mBoard.dealInitialCards(mCardSource);
+  }
+
+  public void begin() {
+    Preconditions.checkState(
+        isGameInValidState(), "Game is not in a valid state. Game state = " + mGameState);
+    dispatchCardsInPlayUpdate(ALL_SLOTS);
+    dispatchGameStateUpdate();
+    updateTimer();
+    if (mGameState == GameState.STARTING) {
+      mGameState = GameState.ACTIVE;
+    }
+    dispatchGameStateUpdate();
+  }
+
+  protected abstract boolean isGameInValidState();
+
+  public void resume() {
+    if (mGameState == GameState.COMPLETED) {
+      return;
+    }
+    mGameState = GameState.ACTIVE;
+    updateTimer();
+    dispatchGameStateUpdate();
+  }
+
+  public void resumeFromLifecycle() {
+    mActivitiyLifecycleActive = true;
+    updateTimer();
+  }
+
+  public void pauseFromLifecycle() {
+    mActivitiyLifecycleActive = false;
+    updateTimer();
+  }
+
+  public void pause() {
+    if (mGameState == GameState.COMPLETED) {
+      return;
+    }
+    mGameState = GameState.PAUSED;
+    updateTimer();
+    dispatchGameStateUpdate();
+  }
+
+  private void updateTimer() {
+    if ((mGameState == GameState.ACTIVE || mGameState == GameState.STARTING)
+        && mActivitiyLifecycleActive) {
+      mTimer.resume();
+    } else {
+      mTimer.pause();
+    }
+  }
+
+  public void onValidTripleSelected(Collection<Card> cards) {
+    commitTriple(Iterables.toArray(cards, Card.class));
+  }
+
+  public void commitTriple(Card... cards) {
+    Preconditions.checkState(mGameState != GameState.COMPLETED, "Game is already completed.");
+    if (!mBoard.getCards().containsAll(cards)) {
+      throw new IllegalArgumentException(
+          "Cards are not in the set. cards = "
+              + Arrays.toString(cards)
+              + ", mBoard = "
+              + mBoard.toImmutableList());
+    }
+    if (!isValidTriple(cards)) {
+      throw new IllegalArgumentException("Cards are not a valid triple");
+    }
+    mNumTriplesFound++;
+
+    mHintedCards.clear();
+    if (mGameRenderer != null) {
+      mGameRenderer.clearHintedCards();
+    }
+
+    mBoard.removeTriple(cards[0], cards[1], cards[2], mCardSource);
+
+    dispatchCardsInPlayUpdate(mBoard.getChangedSlots());
+  }
+
+  protected void finish() {
+    if (mGameState == GameState.COMPLETED) {
+      return;
+    }
+    mGameState = GameState.COMPLETED;
+    updateTimer();
+    dispatchGameStateUpdate();
+    for (OnUpdateGameStateListener listener : mGameStateListeners) {
+      listener.gameFinished();
+    }
+  }
+
+  private void dispatchGameStateUpdate() {
+    for (OnUpdateGameStateListener listener : mGameStateListeners) {
+      listener.onUpdateGameState(mGameState);
+    }
+  }
+
+  public static boolean isValidTriple(Collection<Card> cards) {
+    if (cards.size() != 3) {
+      throw new IllegalArgumentException("Bad set of cards: " + cards);
+    }
+    Iterator<Card> iterator = cards.iterator();
+    return isValidTriple(iterator.next(), iterator.next(), iterator.next());
+  }
+
+  public static boolean isValidTriple(Card... cards) {
+    if (cards.length != 3) {
+      throw new IllegalArgumentException("Bad set of cards: " + Arrays.toString(cards));
+    }
+    return isValidTriple(cards[0], cards[1], cards[2]);
+  }
+
+  public static boolean isValidTriple(Card first, Card second, Card third) {
+    CardSpace cardSpace = first.getCardSpace();
+    if (first == second
+        || first == third
+        || second == third
+        || second.getCardSpace() != cardSpace
+        || third.getCardSpace() != cardSpace) {
+      throw new IllegalArgumentException(
+          "Bad set of cards: " + Arrays.toString(new Card[] {first, second, third}));
+    }
+    CompletionTable table =
+        cardSpace == CardSpace.STANDARD ? CompletionTable.STANDARD : cardSpace.getCompletionTable();
+    return table.isValidTriple(first.index(), second.index(), third.index());
+  }
+
+  protected boolean checkIfAnyValidTriples() {
+    return !mBoard.getValidTriples().isEmpty();
+  }
+
+  /**
+   * Returns the positions in {@code cardsInPlay}, which must be cards of the standard deck, of a
+   * valid triple, or an empty list if there isn't one.
+   */
+  public static List<Integer> getValidTriplePositions(List<Card> cardsInPlay) {
+    return TripleFinder.findValidTriplePositions(cardsInPlay);
+  }
+
+  /**
+   * Writes the positions in {@code cardsInPlay}, which must be cards of the standard deck, of every
+   * valid triple into {@code positions}, as three consecutive entries per triple, and returns the
+   * number of valid triples. If {@code positions} is too small only the triples that fit are
+   * written, so pass an array of at least {@code 3 * MAX_VALID_TRIPLES_IN_PLAY} to get them all.
+   * This doesn't allocate, so callers can reuse the same array.
+   */
+  public static int getAllValidTriplePositions(List<Card> cardsInPlay, int[] positions) {
+    return TripleFinder.findAllValidTriplePositions(cardsInPlay, positions);
+  }
+
+  /**
+   * As {@link #getAllValidTriplePositions(List, int[])} for the cards currently in play in this
+   * game, whatever its deck. To get them all, pass an array of at least three times {@link
+   * CardSpace#getMaxValidTriplesInPlay} for the game's deck.
+   */
+  public int getAllValidTriplePositions(int[] positions) {
+    return mBoard.getValidTripleSlots(positions);
+  }
+
+  /** Returns the number of valid triples amongst the cards currently in play. */
+  public int getNumValidTriples() {
+    return mBoard.getValidTriples().size();
+  }
+
+  /**
+   * Returns a valid triple made up of all of {@code includingCards} and enough cards from {@code
+   * cardsInPlay} to make three, or null if there isn't one. The cards must be from the standard
+   * deck.
+   */
+  public static Set<Card> getAValidTriple(List<Card> cardsInPlay, Set<Card> includingCards) {
+    return TripleFinder.findValidTriple(cardsInPlay, includingCards);
+  }
+
+  /** Tells the renderer and listeners which slots changed, without copying the cards in play. */
+  private void dispatchCardsInPlayUpdate(long changedSlots) {
+    if (mGameRenderer != null) {
+      mGameRenderer.updateCardsInPlay(this, changedSlots);
+    }
+    for (int i = 0; i < mCardsInPlayListeners.size(); i++) {
+      mCardsInPlayListeners
+          .get(i)
+          .onUpdateCardsInPlay(changedSlots, getCardsRemaining(), mNumTriplesFound);
+    }
+  }
+
+  /** Returns the number of slots with cards in them. */
+  public int getNumCardsInPlay() {
+    return mBoard.getNumSlots();
+  }
+
+  /** Returns the card in the given slot, from 0 to {@link #getNumCardsInPlay} - 1. */
+  public Card getCardInPlay(int slot) {
+    Preconditions.checkElementIndex(slot, mBoard.getNumSlots(), "slot");
+    return mBoard.get(slot);
+  }
+
+  /** Returns whether the card is in play. */
+  public boolean isInPlay(Card card) {
+    return mBoard.getSlot(card) != -1;
+  }
+
+  public int getCardsRemaining() {
+    return mDeck.getCardsRemaining() + mBoard.size();
+  }
+
+  /** Returns the deck that the game is played with. */
+  public CardSpace getCardSpace() {
+    return mCardSpace;
+  }
+
+  byte[] getCardsInPlayAsByteArray() {
+    return mBoard.toByteArray();
+  }
+
+  byte[] getCardsInDeckAsByteArray() {
+    return mDeck.toByteArray();
+  }
+
+  public long getId() {
+    return id;
+  }
+
+  /** Returns the summary of the game as it is now, for the game lists and statistics. */
+  GameSummary getSummary() {
+    return new GameSummary(id, mGameState, getTimeElapsed(), mDate, getCardsRemaining(), 0);
+  }
+
+  void setId(long id) {
+    this.id = id;
+  }
+
+  @Override
+  public int compareTo(Game another) {
+    return (int) Utils.compareTo(mDate, id, another.mDate, another.id);
+  }
+
+  public long getRandomSeed() {
+    return mRandomSeed;
+  }
+
+  public long getTimeElapsed() {
+    return mTimer.getElapsed();
+  }
+
+  public Date getDateStarted() {
+    return mDate;
+  }
+
+  public GameState getGameState() {
+    return mGameState;
+  }
+
+  public boolean getActivityLifecycleActive() {
+    return mActivitiyLifecycleActive;
+  }
+
+  public abstract String getGameTypeForAnalytics();
+
+  /** Returns the cards hinted since the last triple was found. The set mustn't be modified. */
+  Set<Card> getHintedCards() {
+    return mHintedCards;
+  }
+
+  public boolean addHint() {
+    if (mHintedCards.size() == 3) {
+      return false;
+    }
+
+    // Calculate hinted card
+    int triple = mBoard.getValidTriples().findTripleContaining(mHintedCards);
+    if (triple == -1) {
+      return false;
+    }
+    Card cardToHint = null;
+    for (int i = 0; i < 3 && cardToHint == null; i++) {
+      Card card = mCardSpace.getCard(mBoard.getCompletionTable().getCard(triple, i));
+      if (!mHintedCards.contains(card)) {
+        cardToHint = card;
+      }
+    }
+    mHintedCards.add(cardToHint);
+
+    // Notify renderer & listeners
+    if (mGameRenderer != null) {
+      mGameRenderer.addHint(cardToHint);
+    }
+    for (OnUpdateCardsInPlayListener listener : mCardsInPlayListeners) {
+      listener.onCardHinted(cardToHint);
+    }
+    return true;
+  }
+}
@@ -7,57 +7,52 @@ import java.util.Comparator;
 
 public enum GameProperty {
   DATE(
-      new Comparator<Game>() {
+      new Comparator<GameSummary>() {
         @Override
-        public int compare(Game lhs, Game rhs) {
+        public int compare(GameSummary lhs, GameSummary rhs) {
           return lhs.getDateStarted().compareTo(rhs.getDateStarted());
         }
       },
       true),
 
   TIME_ELAPSED(
-      new Comparator<Game>() {
+      new Comparator<GameSummary>() {
         @Override
-        public int compare(Game lhs, Game rhs) {
+        public int compare(GameSummary lhs, GameSummary rhs) {
           return Longs.compare(lhs.getTimeElapsed(), rhs.getTimeElapsed());
         }
       },
       true),
 
   CARDS_REMAINING(
-      new Comparator<Game>() {
+      new Comparator<GameSummary>() {
         @Override
-        public int compare(Game lhs, Game rhs) {
+        public int compare(GameSummary lhs, GameSummary rhs) {
           return Ints.compare(lhs.getCardsRemaining(), rhs.getCardsRemaining());
         }
       },
       true),
 
   NUM_TRIPLES_FOUND(
-      new Comparator<Game>() {
+      new Comparator<GameSummary>() {
         @Override
-        public int compare(Game lhs, Game rhs) {
-          if (lhs instanceof ArcadeGame && rhs instanceof ArcadeGame) {
-            return Ints.compare(
-                ((ArcadeGame) lhs).getNumTriplesFound(), ((ArcadeGame) rhs).getNumTriplesFound());
-          } else {
-            return 0;
-          }
+        public int compare(GameSummary lhs, GameSummary rhs) {
+          return Ints.compare(lhs.getNumTriplesFound(), rhs.getNumTriplesFound());
         }
       },
       false);
 
-  private final Comparator<Game> mComparator;
+  private final Comparator<GameSummary> mComparator;
   private final boolean mDefaultAscending;
 
-  private GameProperty(Comparator<Game> comparator, boolean defaultAscending) {
+  private GameProperty(Comparator<GameSummary> comparator, boolean defaultAscending) {
     mComparator = comparator;
     mDefaultAscending = defaultAscending;
   }
 
-  public ReversableComparator<Game> createReversableComparator() {
-    ReversableComparator<Game> gameReversableComparator =
-        new ReversableComparator<Game>(mComparator);
+  public ReversableComparator<GameSummary> createReversableComparator() {
+    ReversableComparator<GameSummary> gameReversableComparator =
+        new ReversableComparator<GameSummary>(mComparator);
     if (!mDefaultAscending) {
       gameReversableComparator.reverse();
     }
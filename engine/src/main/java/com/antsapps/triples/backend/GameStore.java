@@ -0,0 +1,64 @@
+package com.antsapps.triples.backend;
+
+import java.util.List;
+
+/**
+ * Where games are persisted between runs of the app. Only summaries of the games are read up
+ * front; each game's cards are read when it is loaded.
+ */
+public interface GameStore {
+
+  /**
+   * Replaces the contents of the given lists with summaries of the stored games that aren't
+   * completed, sorted. Completed games are read a period at a time with {@link
+   * #getCompletedClassicGames} and {@link #getCompletedArcadeGames}.
+   */
+  void initialize(List<GameSummary> classicGames, List<GameSummary> arcadeGames);
+
+  /** Returns the largest id that a classic game has been given, or 0 if there haven't been any. */
+  long getMaxClassicGameId();
+
+  /** Returns the largest id that an arcade game has been given, or 0 if there haven't been any. */
+  long getMaxArcadeGameId();
+
+  /** Runs {@code writes}, which make calls to this store, as one transaction. */
+  void runInTransaction(Runnable writes);
+
+  /** Returns the stored game with the given id, or null if there isn't one. */
+  ClassicGame loadClassicGame(long id);
+
+  /**
+   * Stores a new game and returns the id that it has been given. If the game already has an id it
+   * is stored with that one.
+   */
+  long addClassicGame(ClassicGame game);
+
+  void updateClassicGame(ClassicGame game);
+
+  void removeClassicGame(long id);
+
+  /** Returns summaries of the completed games in the period, sorted. */
+  List<GameSummary> getCompletedClassicGames(Period period);
+
+  /** Returns the totals of the completed games in the period. */
+  StatisticsTotals getClassicTotals(Period period);
+
+  /** Returns the stored game with the given id, or null if there isn't one. */
+  ArcadeGame loadArcadeGame(long id);
+
+  /**
+   * Stores a new game and returns the id that it has been given. If the game already has an id it
+   * is stored with that one.
+   */
+  long addArcadeGame(ArcadeGame game);
+
+  void updateArcadeGame(ArcadeGame game);
+
+  void removeArcadeGame(long id);
+
+  /** Returns summaries of the completed games in the period, sorted. */
+  List<GameSummary> getCompletedArcadeGames(Period period);
+
+  /** Returns the totals of the completed games in the period. */
+  StatisticsTotals getArcadeTotals(Period period);
+}
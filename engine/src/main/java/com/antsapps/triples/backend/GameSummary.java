@@ -0,0 +1,76 @@
+package com.antsapps.triples.backend;
+
+import com.antsapps.triples.backend.Game.GameState;
+
+import java.util.Date;
+
+/**
+ * What the game lists and statistics need to know about a stored game, without its cards. Only
+ * these are loaded when the app starts; the whole {@link Game} is loaded from the {@link
+ * GameStore} when it's opened.
+ */
+public final class GameSummary implements Comparable<GameSummary> {
+
+  private final long mId;
+
+  private final GameState mGameState;
+
+  private final long mTimeElapsed;
+
+  private final Date mDate;
+
+  private final int mCardsRemaining;
+
+  /** Only kept for arcade games, and 0 for the others. */
+  private final int mNumTriplesFound;
+
+  GameSummary(
+      long id,
+      GameState gameState,
+      long timeElapsed,
+      Date date,
+      int cardsRemaining,
+      int numTriplesFound) {
+    mId = id;
+    mGameState = gameState;
+    mTimeElapsed = timeElapsed;
+    mDate = date;
+    mCardsRemaining = cardsRemaining;
+    mNumTriplesFound = numTriplesFound;
+  }
+
+  public long getId() {
+    return mId;
+  }
+
+  public GameState getGameState() {
+    return mGameState;
+  }
+
+  public long getTimeElapsed() {
+    return mTimeElapsed;
+  }
+
+  public Date getDateStarted() {
+    return mDate;
+  }
+
+  /** Returns the number of cards in play and in the deck. */
+  public int getCardsRemaining() {
+    return mCardsRemaining;
+  }
+
+  public int getNumTriplesFound() {
+    return mNumTriplesFound;
+  }
+
+  @Override
+  public int compareTo(GameSummary another) {
+    return (int) Utils.compareTo(mDate, mId, another.mDate, another.mId);
+  }
+
+  @Override
+  public String toString() {
+    return "GameSummary{id=" + mId + ", state=" + mGameState + ", date=" + mDate + "}";
+  }
+}
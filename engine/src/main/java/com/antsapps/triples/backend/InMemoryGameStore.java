@@ -0,0 +1,286 @@
+package com.antsapps.triples.backend;
+
+import com.antsapps.triples.backend.Game.GameState;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+
+/**
+ * A {@link GameStore} that keeps games in memory, for running the engine, the {@link
+ * WriteBehindGameStore} and the statistics without a database.
+ *
+ * <p>Games are kept the way the database keeps them, as their cards in bytes, so loading a game
+ * gives a new {@link Game} on the store's clock. Completed games are also kept sorted by date,
+ * along with the totals of each day's games, and the totals of a period are worked out from them by
+ * {@link PeriodTotals}, as they are from the database. Writes in a transaction are made straight
+ * away, and aren't undone if a later one fails.
+ */
+public final class InMemoryGameStore implements GameStore {
+
+  /** Orders summaries by date, and by id for games started at the same time. */
+  private static final Comparator<GameSummary> BY_DATE =
+      new Comparator<GameSummary>() {
+        @Override
+        public int compare(GameSummary lhs, GameSummary rhs) {
+          int byDate = lhs.getDateStarted().compareTo(rhs.getDateStarted());
+          return byDate != 0 ? byDate : Long.compare(lhs.getId(), rhs.getId());
+        }
+      };
+
+  /** A stored game: its summary, and what's needed to make the game again. */
+  private static final class StoredGame {
+    final GameSummary mSummary;
+    final long mSeed;
+    final byte[] mCardsInPlay;
+    final byte[] mCardsInDeck;
+
+    StoredGame(Game game) {
+      mSummary = game.getSummary();
+      mSeed = game.getRandomSeed();
+      mCardsInPlay = game.getCardsInPlayAsByteArray();
+      mCardsInDeck = game.getCardsInDeckAsByteArray();
+    }
+  }
+
+  /**
+   * The games of one kind, by id, with the completed ones also sorted by date and added up for
+   * each day.
+   */
+  private abstract static class Table implements PeriodTotals.Source {
+    final Map<Long, StoredGame> mGames = Maps.newHashMap();
+    final NavigableSet<GameSummary> mCompletedGames = Sets.newTreeSet(BY_DATE);
+    final NavigableMap<Long, StatisticsTotals> mDailyTotals = Maps.newTreeMap();
+    long mMaxId;
+
+    /** Adds a copy of a game, giving it the next id if it doesn't have one. */
+    long add(Game copy) {
+      if (copy.getId() == -1) {
+        copy.setId(mMaxId + 1);
+      }
+      put(new StoredGame(copy));
+      return copy.getId();
+    }
+
+    void update(Game game) {
+      if (mGames.containsKey(game.getId())) {
+        put(new StoredGame(game));
+      }
+    }
+
+    void put(StoredGame game) {
+      long id = game.mSummary.getId();
+      remove(id);
+      mGames.put(id, game);
+      if (game.mSummary.getGameState() == GameState.COMPLETED) {
+        mCompletedGames.add(game.mSummary);
+        long date = game.mSummary.getDateStarted().getTime();
+        long day = PeriodTotals.getDay(date);
+        StatisticsTotals totals = mDailyTotals.get(day);
+        if (totals == null) {
+          totals = new StatisticsTotals();
+          mDailyTotals.put(day, totals);
+        }
+        totals.add(getResult(game.mSummary), date);
+      }
+      mMaxId = Math.max(mMaxId, id);
+    }
+
+    /** Removes a game, and if it was completed works out its day's totals again. */
+    void remove(long id) {
+      StoredGame game = mGames.remove(id);
+      if (game == null || !mCompletedGames.remove(game.mSummary)) {
+        return;
+      }
+      long day = PeriodTotals.getDay(game.mSummary.getDateStarted().getTime());
+      long since = PeriodTotals.getStartOfDay(day);
+      long until = PeriodTotals.getStartOfDay(day + 1);
+      StatisticsTotals totals = PeriodTotals.of(this, getCompletedGames(since, until));
+      if (totals.getNumGames() == 0) {
+        mDailyTotals.remove(day);
+      } else {
+        mDailyTotals.put(day, totals);
+      }
+    }
+
+    List<GameSummary> getCurrentGames() {
+      List<GameSummary> games = Lists.newArrayList();
+      for (StoredGame game : mGames.values()) {
+        if (game.mSummary.getGameState() != GameState.COMPLETED) {
+          games.add(game.mSummary);
+        }
+      }
+      Collections.sort(games);
+      return games;
+    }
+
+    @Override
+    public List<GameSummary> getCompletedGames(Period period) {
+      NavigableSet<GameSummary> inPeriod =
+          mCompletedGames.tailSet(firstAt(period.getSince()), true);
+      List<GameSummary> games =
+          Lists.newArrayList(
+              Iterables.limit(inPeriod.descendingSet(), period.getMaxNumGames()));
+      Collections.sort(games);
+      return games;
+    }
+
+    @Override
+    public List<GameSummary> getCompletedGames(long since, long until) {
+      return Lists.newArrayList(
+          mCompletedGames.subSet(firstAt(since), true, firstAt(until), false));
+    }
+
+    @Override
+    public void addDailyTotalsAfter(long day, StatisticsTotals totals) {
+      for (StatisticsTotals dailyTotals : mDailyTotals.tailMap(day, false).values()) {
+        totals.add(dailyTotals);
+      }
+    }
+
+    /** Returns a summary that sorts before every game started at or after {@code date}. */
+    private static GameSummary firstAt(long date) {
+      return new GameSummary(Long.MIN_VALUE, GameState.COMPLETED, 0, new Date(date), 0, 0);
+    }
+  }
+
+  private final Clock mClock;
+
+  private final Table mClassicGames =
+      new Table() {
+        @Override
+        public long getResult(GameSummary game) {
+          return game.getTimeElapsed();
+        }
+      };
+
+  private final Table mArcadeGames =
+      new Table() {
+        @Override
+        public long getResult(GameSummary game) {
+          return game.getNumTriplesFound();
+        }
+      };
+
+  /** Creates an empty store whose games are loaded on {@code clock}. */
+  public InMemoryGameStore(Clock clock) {
+    mClock = clock;
+  }
+
+  @Override
+  public synchronized void initialize(
+      List<GameSummary> classicGames, List<GameSummary> arcadeGames) {
+    classicGames.clear();
+    classicGames.addAll(mClassicGames.getCurrentGames());
+    arcadeGames.clear();
+    arcadeGames.addAll(mArcadeGames.getCurrentGames());
+  }
+
+  @Override
+  public synchronized long getMaxClassicGameId() {
+    return mClassicGames.mMaxId;
+  }
+
+  @Override
+  public synchronized long getMaxArcadeGameId() {
+    return mArcadeGames.mMaxId;
+  }
+
+  @Override
+  public synchronized void runInTransaction(Runnable writes) {
+    writes.run();
+  }
+
+  @Override
+  public synchronized ClassicGame loadClassicGame(long id) {
+    StoredGame game = mClassicGames.mGames.get(id);
+    if (game == null) {
+      return null;
+    }
+    return new ClassicGame(
+        id,
+        game.mSeed,
+        Utils.cardListFromByteArray(game.mCardsInPlay),
+        Deck.fromByteArray(game.mCardsInDeck),
+        game.mSummary.getTimeElapsed(),
+        game.mSummary.getDateStarted(),
+        game.mSummary.getGameState(),
+        mClock);
+  }
+
+  @Override
+  public synchronized long addClassicGame(ClassicGame game) {
+    return mClassicGames.add(game.copy());
+  }
+
+  @Override
+  public synchronized void updateClassicGame(ClassicGame game) {
+    mClassicGames.update(game);
+  }
+
+  @Override
+  public synchronized void removeClassicGame(long id) {
+    mClassicGames.remove(id);
+  }
+
+  @Override
+  public synchronized List<GameSummary> getCompletedClassicGames(Period period) {
+    return mClassicGames.getCompletedGames(period);
+  }
+
+  @Override
+  public synchronized StatisticsTotals getClassicTotals(Period period) {
+    return PeriodTotals.of(mClassicGames, period);
+  }
+
+  @Override
+  public synchronized ArcadeGame loadArcadeGame(long id) {
+    StoredGame game = mArcadeGames.mGames.get(id);
+    if (game == null) {
+      return null;
+    }
+    return new ArcadeGame(
+        id,
+        game.mSeed,
+        Utils.cardListFromByteArray(game.mCardsInPlay),
+        Deck.fromByteArray(game.mCardsInDeck),
+        game.mSummary.getTimeElapsed(),
+        game.mSummary.getDateStarted(),
+        game.mSummary.getGameState(),
+        game.mSummary.getNumTriplesFound(),
+        mClock);
+  }
+
+  @Override
+  public synchronized long addArcadeGame(ArcadeGame game) {
+    return mArcadeGames.add(game.copy());
+  }
+
+  @Override
+  public synchronized void updateArcadeGame(ArcadeGame game) {
+    mArcadeGames.update(game);
+  }
+
+  @Override
+  public synchronized void removeArcadeGame(long id) {
+    mArcadeGames.remove(id);
+  }
+
+  @Override
+  public synchronized List<GameSummary> getCompletedArcadeGames(Period period) {
+    return mArcadeGames.getCompletedGames(period);
+  }
+
+  @Override
+  public synchronized StatisticsTotals getArcadeTotals(Period period) {
+    return PeriodTotals.of(mArcadeGames, period);
+  }
+}
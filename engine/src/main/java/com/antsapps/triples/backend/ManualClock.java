@@ -0,0 +1,76 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.collect.Lists;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A clock that only moves when {@link #advance} is called, running any ticks that fall due on the
+ * way at the time they were due. Games on a manual clock take no real time at all, and always
+ * behave the same way.
+ */
+public final class ManualClock implements Clock {
+
+  private static class ScheduledTick {
+    final Runnable mTick;
+    final long mTimeMillis;
+
+    ScheduledTick(Runnable tick, long timeMillis) {
+      mTick = tick;
+      mTimeMillis = timeMillis;
+    }
+  }
+
+  private long mTimeMillis;
+
+  private final List<ScheduledTick> mScheduledTicks = Lists.newArrayList();
+
+  public ManualClock() {
+    this(0);
+  }
+
+  public ManualClock(long timeMillis) {
+    mTimeMillis = timeMillis;
+  }
+
+  @Override
+  public long currentTimeMillis() {
+    return mTimeMillis;
+  }
+
+  @Override
+  public void schedule(Runnable tick, long delayMillis) {
+    mScheduledTicks.add(new ScheduledTick(tick, mTimeMillis + delayMillis));
+  }
+
+  @Override
+  public void cancel(Runnable tick) {
+    for (Iterator<ScheduledTick> it = mScheduledTicks.iterator(); it.hasNext(); ) {
+      if (it.next().mTick == tick) {
+        it.remove();
+      }
+    }
+  }
+
+  /** Moves the time on by {@code millis}, running the ticks that fall due in the order they do. */
+  public void advance(long millis) {
+    long target = mTimeMillis + millis;
+    while (true) {
+      ScheduledTick next = null;
+      for (ScheduledTick scheduled : mScheduledTicks) {
+        if (scheduled.mTimeMillis <= target
+            && (next == null || scheduled.mTimeMillis < next.mTimeMillis)) {
+          next = scheduled;
+        }
+      }
+      if (next == null) {
+        break;
+      }
+      mScheduledTicks.remove(next);
+      mTimeMillis = next.mTimeMillis;
+      next.mTick.run();
+    }
+    mTimeMillis = target;
+  }
+}
@@ -0,0 +1,20 @@
+package com.antsapps.triples.backend;
+
+public final class NumGamesPeriod implements Period {
+
+  private final int mNumber;
+
+  public NumGamesPeriod(int number) {
+    mNumber = number;
+  }
+
+  @Override
+  public long getSince() {
+    return 0;
+  }
+
+  @Override
+  public int getMaxNumGames() {
+    return mNumber;
+  }
+}
@@ -0,0 +1,28 @@
+package com.antsapps.triples.backend;
+
+/**
+ * Which games to include in statistics: those started since a given time, or the most recent
+ * ones. {@link #getSince} and {@link #getMaxNumGames} describe the period so that a {@link
+ * GameStore} can read just the games in it.
+ */
+public interface Period {
+
+  public static final Period ALL_TIME =
+      new Period() {
+        @Override
+        public long getSince() {
+          return 0;
+        }
+
+        @Override
+        public int getMaxNumGames() {
+          return Integer.MAX_VALUE;
+        }
+      };
+
+  /** Returns the time, in ms, that games in the period were started at or after. */
+  long getSince();
+
+  /** Returns how many of the most recent games are in the period, if not all of them. */
+  int getMaxNumGames();
+}
@@ -0,0 +1,69 @@
+package com.antsapps.triples.backend;
+
+import java.util.List;
+
+/**
+ * Works out the {@link StatisticsTotals} of a period for a {@link GameStore} that keeps the totals
+ * of each day's completed games as well as the games themselves.
+ *
+ * <p>A period of the most recent games is added up from those games. A period since a date is
+ * added up from the games started on its first day, which the day's totals can't be split by,
+ * followed by the totals of every day after that, so a long period reads a row per day rather
+ * than every game.
+ */
+public final class PeriodTotals {
+
+  /** The completed games of one kind in a store, and the totals of each day of them. */
+  public interface Source {
+    /**
+     * Returns the result of a game: its time elapsed for classic games and the number of triples
+     * found for arcade games.
+     */
+    long getResult(GameSummary game);
+
+    /** Returns summaries of the completed games in the period, sorted. */
+    List<GameSummary> getCompletedGames(Period period);
+
+    /** Returns summaries of the completed games started from {@code since} up to {@code until}. */
+    List<GameSummary> getCompletedGames(long since, long until);
+
+    /**
+     * Adds the totals of each day after {@code day}, counted in days since the epoch, to {@code
+     * totals}.
+     */
+    void addDailyTotalsAfter(long day, StatisticsTotals totals);
+  }
+
+  /** Returns the totals of the completed games in {@code source} that are in the period. */
+  public static StatisticsTotals of(Source source, Period period) {
+    if (period.getMaxNumGames() != Integer.MAX_VALUE) {
+      return of(source, source.getCompletedGames(period));
+    }
+    long firstDay = getDay(period.getSince());
+    StatisticsTotals totals =
+        of(source, source.getCompletedGames(period.getSince(), getStartOfDay(firstDay + 1)));
+    source.addDailyTotalsAfter(firstDay, totals);
+    return totals;
+  }
+
+  /** Returns the totals of {@code games}, with the results given by {@code source}. */
+  public static StatisticsTotals of(Source source, Iterable<GameSummary> games) {
+    StatisticsTotals totals = new StatisticsTotals();
+    for (GameSummary game : games) {
+      totals.add(source.getResult(game), game.getDateStarted().getTime());
+    }
+    return totals;
+  }
+
+  /** Returns the day, counted in days since the epoch in UTC, that contains {@code date}. */
+  public static long getDay(long date) {
+    return date / StatisticsTotals.MS_PER_DAY;
+  }
+
+  /** Returns the time that a day starts at. */
+  public static long getStartOfDay(long day) {
+    return day * StatisticsTotals.MS_PER_DAY;
+  }
+
+  private PeriodTotals() {}
+}
@@ -0,0 +1,173 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates puzzle boards: a fixed number of cards with exactly a given number of valid triples,
+ * all of which have to be found.
+ *
+ * <p>Boards are built a card at a time. For every card not on the board the generator keeps the
+ * number of pairs on the board that it completes, which is how many triples adding it would make,
+ * so it picks at random between the cards that spread the triples still needed evenly over the
+ * cards still to add, and the last card always makes the count exact. If there is no such card it
+ * starts again from an empty board, which is rare.
+ */
+public final class PuzzleGenerator {
+
+  private static final int MAX_ATTEMPTS = 100000;
+
+  /** Puzzles are generated in parallel in batches of this size. */
+  private static final int PUZZLES_PER_TASK = 256;
+
+  private final Random mRandom;
+
+  private final int[] mCards = new int[Card.NUM_CARDS];
+
+  private int mNumCards;
+
+  private long mLow;
+
+  private long mHigh;
+
+  private int mNumTriples;
+
+  /** For each card, the number of pairs on the board that it would make a valid triple with. */
+  private final int[] mPairCounts = new int[Card.NUM_CARDS];
+
+  private final int[] mCandidates = new int[Card.NUM_CARDS];
+
+  public PuzzleGenerator(Random random) {
+    mRandom = random;
+  }
+
+  /** Returns a board of {@code numCards} with exactly {@code numTriples} valid triples. */
+  public ImmutableList<Card> generate(int numCards, int numTriples) {
+    Preconditions.checkArgument(
+        numCards >= 0 && numCards <= Card.NUM_CARDS, "Invalid number of cards: %s", numCards);
+    Preconditions.checkArgument(numTriples >= 0, "Invalid number of triples: %s", numTriples);
+    for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+      if (tryGenerate(numCards, numTriples)) {
+        ImmutableList.Builder<Card> board = ImmutableList.builder();
+        for (int i = 0; i < mNumCards; i++) {
+          board.add(Card.of(mCards[i]));
+        }
+        return board.build();
+      }
+    }
+    throw new IllegalArgumentException(
+        "Couldn't find a board of " + numCards + " cards with " + numTriples + " triples");
+  }
+
+  private boolean tryGenerate(int numCards, int numTriples) {
+    mNumCards = 0;
+    mLow = 0;
+    mHigh = 0;
+    mNumTriples = 0;
+    Arrays.fill(mPairCounts, 0);
+
+    while (mNumCards < numCards) {
+      int triplesNeeded = numTriples - mNumTriples;
+      int cardsLeft = numCards - mNumCards;
+      // The last card has to make exactly the triples still needed. Before that, aim to spread
+      // them evenly over the cards still to add, or get as close to that as the board allows.
+      int fewestTriples = triplesNeeded;
+      if (cardsLeft > 1) {
+        int mostTriples = 0;
+        for (int card = 0; card < Card.NUM_CARDS; card++) {
+          if (!CardSet.contains(mLow, mHigh, card) && mPairCounts[card] <= triplesNeeded) {
+            mostTriples = Math.max(mostTriples, mPairCounts[card]);
+          }
+        }
+        fewestTriples = Math.min((triplesNeeded + cardsLeft - 1) / cardsLeft, mostTriples);
+      }
+      int numCandidates = 0;
+      for (int card = 0; card < Card.NUM_CARDS; card++) {
+        int pairCount = mPairCounts[card];
+        if (!CardSet.contains(mLow, mHigh, card)
+            && pairCount >= fewestTriples
+            && pairCount <= triplesNeeded) {
+          mCandidates[numCandidates++] = card;
+        }
+      }
+      if (numCandidates == 0) {
+        return false;
+      }
+      add(mCandidates[mRandom.nextInt(numCandidates)]);
+    }
+    return mNumTriples == numTriples;
+  }
+
+  private void add(int card) {
+    mNumTriples += mPairCounts[card];
+    for (int i = 0; i < mNumCards; i++) {
+      mPairCounts[CompletionTable.STANDARD.complete(card, mCards[i])]++;
+    }
+    mCards[mNumCards++] = card;
+    mLow |= CardSet.lowBit(card);
+    mHigh |= CardSet.highBit(card);
+  }
+
+  /**
+   * Generates {@code numPuzzles} boards on all cores. Puzzle {@code i} only depends on {@code seed
+   * + i}, so, for example, a store of daily puzzles can be filled in any order.
+   */
+  public static ImmutableList<Card>[] generateAll(
+      long seed, int numPuzzles, int numCards, int numTriples) {
+    @SuppressWarnings("unchecked")
+    ImmutableList<Card>[] puzzles = new ImmutableList[numPuzzles];
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      pool.invoke(new GenerateTask(puzzles, seed, 0, numPuzzles, numCards, numTriples));
+    } finally {
+      pool.shutdown();
+    }
+    return puzzles;
+  }
+
+  private static class GenerateTask extends RecursiveAction {
+    private final ImmutableList<Card>[] mPuzzles;
+    private final long mSeed;
+    private final int mFrom;
+    private final int mTo;
+    private final int mNumCards;
+    private final int mNumTriples;
+
+    GenerateTask(
+        ImmutableList<Card>[] puzzles,
+        long seed,
+        int from,
+        int to,
+        int numCards,
+        int numTriples) {
+      mPuzzles = puzzles;
+      mSeed = seed;
+      mFrom = from;
+      mTo = to;
+      mNumCards = numCards;
+      mNumTriples = numTriples;
+    }
+
+    @Override
+    protected void compute() {
+      if (mTo - mFrom > PUZZLES_PER_TASK) {
+        int mid = (mFrom + mTo) >>> 1;
+        invokeAll(
+            new GenerateTask(mPuzzles, mSeed, mFrom, mid, mNumCards, mNumTriples),
+            new GenerateTask(mPuzzles, mSeed, mid, mTo, mNumCards, mNumTriples));
+        return;
+      }
+      Random random = new Random();
+      PuzzleGenerator generator = new PuzzleGenerator(random);
+      for (int i = mFrom; i < mTo; i++) {
+        random.setSeed(mSeed + i);
+        mPuzzles[i] = generator.generate(mNumCards, mNumTriples);
+      }
+    }
+  }
+}
@@ -0,0 +1,133 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Preconditions;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Random;
+
+/**
+ * A read only catalogue of classic game seeds and how hard each one is, written by {@link
+ * SeedCatalogueGenerator}.
+ *
+ * <p>The file is a header followed by fixed size records sorted by difficulty, and is memory
+ * mapped rather than read, so opening it is cheap and finding seeds of a given difficulty is a
+ * binary search.
+ *
+ * <pre>
+ * header:  int magic, int number of records
+ * record:  long seed, float difficulty, short average triples per board * 100,
+ *          byte number of stuck boards, byte best outcome (-1 if unknown)
+ * </pre>
+ */
+public final class SeedCatalogue {
+
+  static final int MAGIC = 0x54534331;
+
+  static final int HEADER_SIZE = 8;
+
+  static final int RECORD_SIZE = 16;
+
+  /** The value of {@link #getBestOutcome} when the solver didn't finish for the seed. */
+  public static final int UNKNOWN_OUTCOME = -1;
+
+  private final ByteBuffer mBuffer;
+
+  private final int mSize;
+
+  private SeedCatalogue(ByteBuffer buffer) {
+    Preconditions.checkArgument(buffer.getInt(0) == MAGIC, "Not a seed catalogue");
+    mBuffer = buffer;
+    mSize = buffer.getInt(4);
+    Preconditions.checkArgument(
+        buffer.capacity() >= HEADER_SIZE + (long) mSize * RECORD_SIZE,
+        "Seed catalogue is truncated");
+  }
+
+  public static SeedCatalogue open(File file) throws IOException {
+    RandomAccessFile in = new RandomAccessFile(file, "r");
+    try {
+      return new SeedCatalogue(in.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, in.length()));
+    } finally {
+      in.close();
+    }
+  }
+
+  /** Returns the number of seeds in the catalogue. */
+  public int size() {
+    return mSize;
+  }
+
+  public long getSeed(int i) {
+    return mBuffer.getLong(offsetOf(i));
+  }
+
+  /** Returns the difficulty of seed {@code i}, as calculated by {@link #difficulty}. */
+  public float getDifficulty(int i) {
+    return mBuffer.getFloat(offsetOf(i) + 8);
+  }
+
+  public float getAverageTriplesPerBoard(int i) {
+    return (mBuffer.getShort(offsetOf(i) + 12) & 0xffff) / 100f;
+  }
+
+  /** Returns how many boards had no valid triple, so needed more cards dealt. */
+  public int getNumStuckBoards(int i) {
+    return mBuffer.get(offsetOf(i) + 14) & 0xff;
+  }
+
+  /** Returns the fewest cards that can be left at the end, or {@link #UNKNOWN_OUTCOME}. */
+  public int getBestOutcome(int i) {
+    return mBuffer.get(offsetOf(i) + 15);
+  }
+
+  /**
+   * Returns the position of the first seed with at least the given difficulty, or {@link #size}
+   * if there isn't one.
+   */
+  public int indexOf(float difficulty) {
+    int low = 0;
+    int high = mSize;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (getDifficulty(mid) < difficulty) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * Returns a random seed with a difficulty from {@code minDifficulty} up to but not including
+   * {@code maxDifficulty}. If there aren't any, returns the seed closest to that range.
+   */
+  public long pickSeed(float minDifficulty, float maxDifficulty, Random random) {
+    Preconditions.checkState(mSize > 0, "Seed catalogue is empty");
+    int from = indexOf(minDifficulty);
+    int to = indexOf(maxDifficulty);
+    if (from < to) {
+      return getSeed(from + random.nextInt(to - from));
+    }
+    return getSeed(Math.min(from, mSize - 1));
+  }
+
+  /**
+   * Returns how hard a game is: the fewer triples there usually are to choose from, the more boards
+   * with no triple at all and the more cards that have to be left at the end, the harder it is.
+   */
+  public static float difficulty(
+      float averageTriplesPerBoard, int numStuckBoards, int bestOutcome) {
+    return 10 / averageTriplesPerBoard
+        + numStuckBoards
+        + (bestOutcome == UNKNOWN_OUTCOME ? 0 : bestOutcome / 3f);
+  }
+
+  private static int offsetOf(int i) {
+    return HEADER_SIZE + i * RECORD_SIZE;
+  }
+}
@@ -0,0 +1,132 @@
+package com.antsapps.triples.backend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Writes a {@link SeedCatalogue} for a range of seeds, evaluating the seeds on all cores.
+ *
+ * <p>Each seed is played once by the same random player as {@link ClassicGameSimulator}, to find
+ * the average number of triples per board and the number of stuck boards, and then solved with
+ * {@link ClassicGameSolver} on a single thread to find the fewest cards that can be left. If the
+ * solver runs out of nodes the best outcome is recorded as unknown.
+ */
+public final class SeedCatalogueGenerator {
+
+  /** Ranges of seeds at most this big are evaluated on a single thread. */
+  private static final int SEEDS_PER_TASK = 1024;
+
+  /** Each task's solver has a transposition table of 2^16 entries, which is 1MB. */
+  private static final int LOG2_TABLE_SIZE = 16;
+
+  public static void generate(long firstSeed, int numSeeds, long solverNodeBudget, File file)
+      throws IOException {
+    ByteBuffer records = ByteBuffer.allocate(numSeeds * SeedCatalogue.RECORD_SIZE);
+    ForkJoinPool pool = new ForkJoinPool();
+    try {
+      pool.invoke(new EvaluateTask(records, firstSeed, 0, numSeeds, solverNodeBudget));
+    } finally {
+      pool.shutdown();
+    }
+
+    // Sort by difficulty. Difficulties aren't negative, so their bits sort the same way as they do.
+    long[] order = new long[numSeeds];
+    for (int i = 0; i < numSeeds; i++) {
+      float difficulty = records.getFloat(i * SeedCatalogue.RECORD_SIZE + 8);
+      order[i] = (long) Float.floatToIntBits(difficulty) << 32 | i;
+    }
+    Arrays.sort(order);
+
+    RandomAccessFile out = new RandomAccessFile(file, "rw");
+    try {
+      long length = SeedCatalogue.HEADER_SIZE + (long) numSeeds * SeedCatalogue.RECORD_SIZE;
+      out.setLength(length);
+      MappedByteBuffer buffer = out.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+      buffer.putInt(SeedCatalogue.MAGIC);
+      buffer.putInt(numSeeds);
+      byte[] record = new byte[SeedCatalogue.RECORD_SIZE];
+      for (long entry : order) {
+        records.position((int) entry * SeedCatalogue.RECORD_SIZE);
+        records.get(record);
+        buffer.put(record);
+      }
+      buffer.force();
+    } finally {
+      out.close();
+    }
+  }
+
+  private static class EvaluateTask extends RecursiveAction {
+    private final ByteBuffer mRecords;
+    private final long mFirstSeed;
+    private final int mFrom;
+    private final int mTo;
+    private final long mSolverNodeBudget;
+
+    EvaluateTask(ByteBuffer records, long firstSeed, int from, int to, long solverNodeBudget) {
+      mRecords = records;
+      mFirstSeed = firstSeed;
+      mFrom = from;
+      mTo = to;
+      mSolverNodeBudget = solverNodeBudget;
+    }
+
+    @Override
+    protected void compute() {
+      if (mTo - mFrom > SEEDS_PER_TASK) {
+        int mid = (mFrom + mTo) >>> 1;
+        invokeAll(
+            new EvaluateTask(mRecords, mFirstSeed, mFrom, mid, mSolverNodeBudget),
+            new EvaluateTask(mRecords, mFirstSeed, mid, mTo, mSolverNodeBudget));
+        return;
+      }
+
+      ClassicGameSimulator.Player player = new ClassicGameSimulator.Player();
+      ClassicGameSolver solver =
+          new ClassicGameSolver(
+              ClassicGameSolver.Objective.CARDS_REMAINING,
+              mSolverNodeBudget,
+              LOG2_TABLE_SIZE,
+              false);
+      for (int i = mFrom; i < mTo; i++) {
+        long seed = mFirstSeed + i;
+        SimulationResult result = new SimulationResult();
+        player.play(seed, result);
+        float averageTriples = (float) result.getAverageTriplesPerBoard();
+        int numStuckBoards = (int) Math.min(result.getNumStuckBoards(), Byte.MAX_VALUE);
+
+        ClassicGameSolver.Solution solution = solver.solve(seed);
+        int bestOutcome = solution.isExact() ? solution.getValue() : SeedCatalogue.UNKNOWN_OUTCOME;
+
+        int offset = i * SeedCatalogue.RECORD_SIZE;
+        mRecords.putLong(offset, seed);
+        mRecords.putFloat(
+            offset + 8, SeedCatalogue.difficulty(averageTriples, numStuckBoards, bestOutcome));
+        mRecords.putShort(offset + 12, (short) Math.round(averageTriples * 100));
+        mRecords.put(offset + 14, (byte) numStuckBoards);
+        mRecords.put(offset + 15, (byte) bestOutcome);
+      }
+    }
+  }
+
+  /** Usage: SeedCatalogueGenerator file [firstSeed [numSeeds [solverNodeBudget]]] */
+  public static void main(String[] args) throws IOException {
+    File file = new File(args[0]);
+    long firstSeed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+    int numSeeds = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+    long solverNodeBudget = args.length > 3 ? Long.parseLong(args[3]) : 100000;
+    long start = System.currentTimeMillis();
+    generate(firstSeed, numSeeds, solverNodeBudget, file);
+    System.out.println(
+        "Wrote " + numSeeds + " seeds in " + (System.currentTimeMillis() - start) + "ms");
+  }
+
+  private SeedCatalogueGenerator() {}
+}
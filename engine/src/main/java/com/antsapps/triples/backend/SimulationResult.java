@@ -0,0 +1,135 @@
+package com.antsapps.triples.backend;
+
+import java.util.Locale;
+
+/**
+ * Distributions gathered from simulated games. Results from separate batches of games can be
+ * combined with {@link #add}, so a simulation only has to keep one of these per batch rather than
+ * the games themselves.
+ */
+public final class SimulationResult {
+
+  private long mNumGames;
+
+  private long mNumBoards;
+
+  /** The number of boards without a valid triple, that needed more cards dealt. */
+  private long mNumStuckBoards;
+
+  /** The number of boards seen with each number of cards in play. */
+  private final long[] mBoardSizes = new long[Game.MAX_CARDS_IN_PLAY + 1];
+
+  /** The number of games whose largest board had each number of cards in play. */
+  private final long[] mLargestBoardSizes = new long[Game.MAX_CARDS_IN_PLAY + 1];
+
+  /** The number of games that ended with each number of cards left. */
+  private final long[] mCardsLeft = new long[Game.MAX_CARDS_IN_PLAY + 1];
+
+  /** The number of boards seen with each number of valid triples. */
+  private final long[] mTriplesPerBoard = new long[Game.MAX_VALID_TRIPLES_IN_PLAY + 1];
+
+  void addBoard(int numCards, int numValidTriples) {
+    mNumBoards++;
+    mBoardSizes[numCards]++;
+    mTriplesPerBoard[numValidTriples]++;
+  }
+
+  void addGame(int largestBoardSize, int cardsLeft, int numStuckBoards) {
+    mNumGames++;
+    mNumStuckBoards += numStuckBoards;
+    mLargestBoardSizes[largestBoardSize]++;
+    mCardsLeft[cardsLeft]++;
+  }
+
+  /** Adds the results of another batch of games to this one. */
+  public void add(SimulationResult other) {
+    mNumGames += other.mNumGames;
+    mNumBoards += other.mNumBoards;
+    mNumStuckBoards += other.mNumStuckBoards;
+    addAll(mBoardSizes, other.mBoardSizes);
+    addAll(mLargestBoardSizes, other.mLargestBoardSizes);
+    addAll(mCardsLeft, other.mCardsLeft);
+    addAll(mTriplesPerBoard, other.mTriplesPerBoard);
+  }
+
+  private static void addAll(long[] to, long[] from) {
+    for (int i = 0; i < to.length; i++) {
+      to[i] += from[i];
+    }
+  }
+
+  public long getNumGames() {
+    return mNumGames;
+  }
+
+  public long getNumBoards() {
+    return mNumBoards;
+  }
+
+  public long getNumStuckBoards() {
+    return mNumStuckBoards;
+  }
+
+  /** Returns the number of games in which there were at some point at least {@code numCards}. */
+  public long getNumGamesReaching(int numCards) {
+    long count = 0;
+    for (int i = numCards; i < mLargestBoardSizes.length; i++) {
+      count += mLargestBoardSizes[i];
+    }
+    return count;
+  }
+
+  /** Returns the number of boards that had {@code numCards} in play. */
+  public long getNumBoardsOfSize(int numCards) {
+    return mBoardSizes[numCards];
+  }
+
+  /** Returns the number of games that ended with {@code numCards} left on the board. */
+  public long getNumGamesEndingWith(int numCards) {
+    return mCardsLeft[numCards];
+  }
+
+  /** Returns the number of boards that had exactly {@code numTriples} valid triples. */
+  public long getNumBoardsWithTriples(int numTriples) {
+    return mTriplesPerBoard[numTriples];
+  }
+
+  public double getAverageTriplesPerBoard() {
+    long sum = 0;
+    for (int i = 0; i < mTriplesPerBoard.length; i++) {
+      sum += i * mTriplesPerBoard[i];
+    }
+    return mNumBoards == 0 ? 0 : (double) sum / mNumBoards;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(String.format(Locale.US, "%d games, %d boards%n", mNumGames, mNumBoards));
+    sb.append(String.format(Locale.US, "%d boards without a valid triple%n", mNumStuckBoards));
+    sb.append("Games whose board grew to at least:\n");
+    for (int numCards = 15; numCards <= Game.MAX_CARDS_IN_PLAY; numCards += 3) {
+      appendLine(sb, numCards + " cards", getNumGamesReaching(numCards), mNumGames);
+    }
+    sb.append("Cards left at the end:\n");
+    for (int numCards = 0; numCards < mCardsLeft.length; numCards++) {
+      if (mCardsLeft[numCards] != 0) {
+        appendLine(sb, numCards + " cards", mCardsLeft[numCards], mNumGames);
+      }
+    }
+    sb.append(
+        String.format(
+            Locale.US, "Valid triples per board (mean %.3f):%n", getAverageTriplesPerBoard()));
+    for (int numTriples = 0; numTriples < mTriplesPerBoard.length; numTriples++) {
+      if (mTriplesPerBoard[numTriples] != 0) {
+        appendLine(sb, numTriples + " triples", mTriplesPerBoard[numTriples], mNumBoards);
+      }
+    }
+    return sb.toString();
+  }
+
+  private static void appendLine(StringBuilder sb, String label, long count, long total) {
+    double percent = total == 0 ? 0 : 100.0 * count / total;
+    sb.append(String.format(Locale.US, "  %-10s %12d %8.4f%%%n", label, count, percent));
+  }
+}
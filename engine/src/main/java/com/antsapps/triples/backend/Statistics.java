@@ -0,0 +1,31 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+public class Statistics {
+
+  private final Supplier<List<GameSummary>> mGamesInPeriod;
+
+  protected final StatisticsTotals mTotals;
+
+  /**
+   * Creates statistics from totals that have already been worked out. The games are only read if
+   * {@link #getData} is called.
+   */
+  Statistics(Supplier<List<GameSummary>> gamesInPeriod, StatisticsTotals totals) {
+    mGamesInPeriod = Suppliers.memoize(gamesInPeriod);
+    mTotals = totals;
+  }
+
+  public int getNumGames() {
+    return (int) mTotals.getNumGames();
+  }
+
+  public List<GameSummary> getData() {
+    return Lists.newArrayList(mGamesInPeriod.get());
+  }
+}
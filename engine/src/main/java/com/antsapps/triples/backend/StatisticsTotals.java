@@ -0,0 +1,129 @@
+package com.antsapps.triples.backend;
+
+/**
+ * The totals that statistics are worked out from, for a set of completed games: how many there
+ * are, the sum, smallest and largest of their results, and when they were played. A game's result
+ * is its time elapsed for classic games and the number of triples found for arcade games.
+ *
+ * <p>Totals for separate sets of games can be combined with {@link #add(StatisticsTotals)}, so a
+ * {@link GameStore} can keep the totals for each day and answer a long period by adding up the
+ * days in it, with {@link PeriodTotals}. When games tie for the smallest or largest result the
+ * date kept is the earliest, so the totals don't depend on the order that games are added in.
+ */
+public final class StatisticsTotals {
+
+  /** Totals are kept for each day since the epoch, in UTC, of this many ms. */
+  public static final long MS_PER_DAY = 24 * 60 * 60 * 1000;
+
+  private long mNumGames;
+  private long mSum;
+  private long mMin = Long.MAX_VALUE;
+  private long mMinDate;
+  private long mMax;
+  private long mMaxDate;
+  private long mFirstDate = Long.MAX_VALUE;
+  private long mLastDate;
+
+  public StatisticsTotals() {}
+
+  /** Creates totals that have already been worked out, as read back from a {@link GameStore}. */
+  public StatisticsTotals(
+      long numGames,
+      long sum,
+      long min,
+      long minDate,
+      long max,
+      long maxDate,
+      long firstDate,
+      long lastDate) {
+    mNumGames = numGames;
+    mSum = sum;
+    mMin = min;
+    mMinDate = minDate;
+    mMax = max;
+    mMaxDate = maxDate;
+    mFirstDate = firstDate;
+    mLastDate = lastDate;
+  }
+
+  /** Adds a game with the given result, started at {@code date}. */
+  public void add(long result, long date) {
+    mNumGames++;
+    mSum += result;
+    if (result < mMin || (result == mMin && date < mMinDate)) {
+      mMin = result;
+      mMinDate = date;
+    }
+    if (result > mMax || (result == mMax && date < mMaxDate)) {
+      mMax = result;
+      mMaxDate = date;
+    }
+    mFirstDate = Math.min(mFirstDate, date);
+    mLastDate = Math.max(mLastDate, date);
+  }
+
+  /** Adds the totals of another set of games. */
+  public void add(StatisticsTotals other) {
+    if (other.mNumGames == 0) {
+      return;
+    }
+    mNumGames += other.mNumGames;
+    mSum += other.mSum;
+    if (other.mMin < mMin || (other.mMin == mMin && other.mMinDate < mMinDate)) {
+      mMin = other.mMin;
+      mMinDate = other.mMinDate;
+    }
+    if (other.mMax > mMax || (other.mMax == mMax && other.mMaxDate < mMaxDate)) {
+      mMax = other.mMax;
+      mMaxDate = other.mMaxDate;
+    }
+    mFirstDate = Math.min(mFirstDate, other.mFirstDate);
+    mLastDate = Math.max(mLastDate, other.mLastDate);
+  }
+
+  public long getNumGames() {
+    return mNumGames;
+  }
+
+  public long getSum() {
+    return mSum;
+  }
+
+  /** Returns the average result, rounded down, or 0 if there aren't any games. */
+  public long getAverage() {
+    return mNumGames != 0 ? mSum / mNumGames : 0;
+  }
+
+  /** Returns the smallest result, or {@link Long#MAX_VALUE} if there aren't any games. */
+  public long getMin() {
+    return mMin;
+  }
+
+  /** Returns the date of the earliest game with the smallest result, or 0. */
+  public long getMinDate() {
+    return mMinDate;
+  }
+
+  /** Returns the largest result, or 0 if there aren't any games. */
+  public long getMax() {
+    return mMax;
+  }
+
+  /**
+   * Returns the date of the earliest game with the largest result, or 0 if there aren't any games
+   * or the largest result is 0.
+   */
+  public long getMaxDate() {
+    return mMaxDate;
+  }
+
+  /** Returns the date of the earliest game, or {@link Long#MAX_VALUE} if there aren't any. */
+  public long getFirstDate() {
+    return mFirstDate;
+  }
+
+  /** Returns the date of the latest game, or 0 if there aren't any. */
+  public long getLastDate() {
+    return mLastDate;
+  }
+}
@@ -1,15 +1,12 @@
 package com.antsapps.triples.backend;
 
-import android.os.Handler;
-import android.os.Message;
-
 import com.google.common.collect.Sets;
 
 import java.util.Set;
 
 class Timer {
 
-  private static final int TICK_WHAT = 1;
+  private static final long TICK_INTERVAL_MS = 1000;
 
   private final Set<OnTimerTickListener> mListeners = Sets.newHashSet();
 
@@ -17,7 +14,18 @@ class Timer {
 
   private long mTimeOfLastResume;
 
-  private final Handler mHandler;
+  private final Clock mClock;
+
+  private final Runnable mTick =
+      new Runnable() {
+        @Override
+        public void run() {
+          if (isActive()) {
+            dispatchTimerTick();
+            mClock.schedule(this, TICK_INTERVAL_MS);
+          }
+        }
+      };
 
   public void addOnTimerTickListener(OnTimerTickListener listener) {
     mListeners.add(listener);
@@ -27,35 +35,26 @@ class Timer {
     mListeners.remove(listener);
   }
 
-  public Timer() {
-    this(0);
+  public Timer(Clock clock) {
+    this(0, clock);
   }
 
-  public Timer(long timeElapsed) {
+  public Timer(long timeElapsed, Clock clock) {
     mTimeElapsedWhenLastResumed = timeElapsed;
     mTimeOfLastResume = -1;
-    mHandler =
-        new Handler() {
-          @Override
-          public void handleMessage(Message m) {
-            if (isActive()) {
-              dispatchTimerTick();
-              sendMessageDelayed(Message.obtain(this, TICK_WHAT), 1000);
-            }
-          }
-        };
+    mClock = clock;
   }
 
   void resume() {
     if (!isActive()) {
-      mTimeOfLastResume = System.currentTimeMillis();
+      mTimeOfLastResume = mClock.currentTimeMillis();
       update();
     }
   }
 
   void pause() {
     if (isActive()) {
-      mTimeElapsedWhenLastResumed += System.currentTimeMillis() - mTimeOfLastResume;
+      mTimeElapsedWhenLastResumed += mClock.currentTimeMillis() - mTimeOfLastResume;
       mTimeOfLastResume = -1;
       update();
     }
@@ -63,7 +62,7 @@ class Timer {
 
   long getElapsed() {
     return mTimeElapsedWhenLastResumed
-        + (isActive() ? (System.currentTimeMillis() - mTimeOfLastResume) : 0);
+        + (isActive() ? (mClock.currentTimeMillis() - mTimeOfLastResume) : 0);
   }
 
   private boolean isActive() {
@@ -73,9 +72,9 @@ class Timer {
   private void update() {
     dispatchTimerTick();
     if (isActive()) {
-      mHandler.sendMessageDelayed(Message.obtain(mHandler, TICK_WHAT), 1000);
+      mClock.schedule(mTick, TICK_INTERVAL_MS);
     } else {
-      mHandler.removeMessages(TICK_WHAT);
+      mClock.cancel(mTick);
     }
   }
 
@@ -0,0 +1,222 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds valid triples amongst the cards in play.
+ *
+ * <p>Any two cards determine the only card that completes a triple with them (see {@link
+ * CompletionTable}), so rather than trying every combination of three cards we try every pair and
+ * check whether the completing card is in play. The cards in play are recorded in an 81 bit
+ * presence set held in two longs (see {@link CardSet}), which makes the search O(n^2) and means it
+ * doesn't allocate anything unless it finds a triple. Finding every triple also needs the position
+ * of each card, so it keeps a small table of those for each thread, cleared after every search.
+ *
+ * <p>The cards must be from the standard deck. Games with other decks find their triples through
+ * their {@link Board}'s {@link ValidTripleIndex} instead.
+ */
+final class TripleFinder {
+
+  /**
+   * One more than the position of each card in play, or 0 if it isn't in play, during a call to
+   * {@link #findAllValidTriplePositions}. Every entry is 0 between calls.
+   */
+  private static final ThreadLocal<byte[]> POSITIONS_BY_CARD =
+      new ThreadLocal<byte[]>() {
+        @Override
+        protected byte[] initialValue() {
+          return new byte[Card.NUM_CARDS];
+        }
+      };
+
+  static boolean hasValidTriple(List<Card> cardsInPlay) {
+    return hasValidTriple(cardsInPlay, lowBits(cardsInPlay), highBits(cardsInPlay));
+  }
+
+  private static boolean hasValidTriple(List<Card> cardsInPlay, long low, long high) {
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card first = cardsInPlay.get(i);
+      if (first == null) {
+        continue;
+      }
+      for (int j = i + 1; j < cardsInPlay.size(); j++) {
+        Card second = cardsInPlay.get(j);
+        if (second != null
+            && CardSet.contains(
+                low, high, CompletionTable.STANDARD.complete(first.index(), second.index()))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns a valid triple made up of all of {@code includingCards} and enough cards from {@code
+   * cardsInPlay} to make three, or null if there isn't one.
+   */
+  static Set<Card> findValidTriple(List<Card> cardsInPlay, Set<Card> includingCards) {
+    if (includingCards.size() > 3) {
+      throw new IllegalArgumentException("including cards is too long");
+    }
+
+    if (includingCards.size() == 3) {
+      if (Game.isValidTriple(includingCards)) {
+        return Sets.newHashSet(includingCards);
+      } else {
+        return null;
+      }
+    }
+
+    long low = lowBits(cardsInPlay);
+    long high = highBits(cardsInPlay);
+
+    if (includingCards.size() == 2) {
+      Card first = Iterables.get(includingCards, 0);
+      Card second = Iterables.get(includingCards, 1);
+      int third = CompletionTable.STANDARD.complete(first.index(), second.index());
+      if (CardSet.contains(low, high, third)) {
+        return Sets.newHashSet(first, second, Card.of(third));
+      }
+      return null;
+    }
+
+    if (includingCards.size() == 1) {
+      Card first = Iterables.getOnlyElement(includingCards);
+      for (int i = 0; i < cardsInPlay.size(); i++) {
+        Card second = cardsInPlay.get(i);
+        if (second == null || second == first) {
+          continue;
+        }
+        int third = CompletionTable.STANDARD.complete(first.index(), second.index());
+        if (CardSet.contains(low, high, third)) {
+          return Sets.newHashSet(first, second, Card.of(third));
+        }
+      }
+      return null;
+    }
+
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card first = cardsInPlay.get(i);
+      if (first == null) {
+        continue;
+      }
+      for (int j = i + 1; j < cardsInPlay.size(); j++) {
+        Card second = cardsInPlay.get(j);
+        if (second == null) {
+          continue;
+        }
+        int third = CompletionTable.STANDARD.complete(first.index(), second.index());
+        if (CardSet.contains(low, high, third)) {
+          return Sets.newHashSet(first, second, Card.of(third));
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the positions in {@code cardsInPlay} of a valid triple, or an empty list if there
+   * isn't one.
+   */
+  static List<Integer> findValidTriplePositions(List<Card> cardsInPlay) {
+    long low = lowBits(cardsInPlay);
+    long high = highBits(cardsInPlay);
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card first = cardsInPlay.get(i);
+      if (first == null) {
+        continue;
+      }
+      for (int j = i + 1; j < cardsInPlay.size(); j++) {
+        Card second = cardsInPlay.get(j);
+        if (second == null) {
+          continue;
+        }
+        int third = CompletionTable.STANDARD.complete(first.index(), second.index());
+        if (CardSet.contains(low, high, third)) {
+          return ImmutableList.of(i, j, cardsInPlay.indexOf(Card.of(third)));
+        }
+      }
+    }
+    return ImmutableList.of();
+  }
+
+  /**
+   * Writes the positions of every valid triple into {@code positions}, three consecutive entries
+   * per triple in ascending order, and returns the number of triples. Each triple is found once
+   * from its first two positions, and only triples that fit in {@code positions} are written.
+   *
+   * <p>The position of each card is recorded first, so finding the third card of a pair is a
+   * lookup and the whole search stays O(n^2) however many triples there are. The table is reused
+   * between calls, so this doesn't allocate.
+   */
+  static int findAllValidTriplePositions(List<Card> cardsInPlay, int[] positions) {
+    byte[] positionsByCard = POSITIONS_BY_CARD.get();
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card card = cardsInPlay.get(i);
+      if (card != null) {
+        positionsByCard[card.index()] = (byte) (i + 1);
+      }
+    }
+    int numTriples = 0;
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card first = cardsInPlay.get(i);
+      if (first == null) {
+        continue;
+      }
+      for (int j = i + 1; j < cardsInPlay.size(); j++) {
+        Card second = cardsInPlay.get(j);
+        if (second == null) {
+          continue;
+        }
+        int third = CompletionTable.STANDARD.complete(first.index(), second.index());
+        int k = positionsByCard[third] - 1;
+        if (k <= j) {
+          continue;
+        }
+        if (numTriples * 3 + 3 <= positions.length) {
+          positions[numTriples * 3] = i;
+          positions[numTriples * 3 + 1] = j;
+          positions[numTriples * 3 + 2] = k;
+        }
+        numTriples++;
+      }
+    }
+    for (int i = 0; i < cardsInPlay.size(); i++) {
+      Card card = cardsInPlay.get(i);
+      if (card != null) {
+        positionsByCard[card.index()] = 0;
+      }
+    }
+    return numTriples;
+  }
+
+  private static long lowBits(List<Card> cards) {
+    long low = 0;
+    for (int i = 0; i < cards.size(); i++) {
+      Card card = cards.get(i);
+      if (card != null && card.index() < 64) {
+        low |= 1L << card.index();
+      }
+    }
+    return low;
+  }
+
+  private static long highBits(List<Card> cards) {
+    long high = 0;
+    for (int i = 0; i < cards.size(); i++) {
+      Card card = cards.get(i);
+      if (card != null && card.index() >= 64) {
+        high |= 1L << (card.index() - 64);
+      }
+    }
+    return high;
+  }
+
+  private TripleFinder() {}
+}
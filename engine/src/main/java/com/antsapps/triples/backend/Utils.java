@@ -24,7 +24,7 @@ public class Utils {
   }
 
   public static byte cardToByte(Card card) {
-    return (byte) ((card.mNumber << 6) + (card.mShape << 4) + (card.mPattern << 2) + card.mColor);
+    return (byte) card.packed();
   }
 
   public static Card cardFromByte(byte b) {
@@ -32,7 +32,7 @@ public class Utils {
     int shape = (b >>> 4) & 3;
     int pattern = (b >>> 2) & 3;
     int color = b & 3;
-    return new Card(number, shape, pattern, color);
+    return Card.of(number, shape, pattern, color);
   }
 
   public static byte[] cardListToByteArray(List<Card> cards) {
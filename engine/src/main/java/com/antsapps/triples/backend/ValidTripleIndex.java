@@ -0,0 +1,115 @@
+package com.antsapps.triples.backend;
+
+import java.util.Collection;
+
+/**
+ * The set of valid triples amongst the cards in play, kept up to date as cards are added and
+ * removed.
+ *
+ * <p>Triples are identified by their number in the deck's {@link CompletionTable}, and the set is a
+ * bitset over all {@link CompletionTable#getNumTriples} of them. Each card is in exactly {@link
+ * CompletionTable#getTriplesPerCard} triples, 40 for the standard deck, so adding or removing a
+ * card only has to look at those, and asking whether there is a triple or how many there are is
+ * constant time.
+ */
+final class ValidTripleIndex {
+
+  private final CompletionTable mTable;
+
+  private final long[] mTriples;
+
+  private int mSize;
+
+  ValidTripleIndex(CompletionTable table) {
+    mTable = table;
+    mTriples = new long[(table.getNumTriples() + 63) / 64];
+  }
+
+  /**
+   * Records the triples that {@code card} makes with the other cards in play. {@code cardsInPlay}
+   * must already contain {@code card}.
+   */
+  void onCardAdded(Card card, CardSet cardsInPlay) {
+    int index = card.index();
+    for (int i = 0; i < mTable.getTriplesPerCard(); i++) {
+      int triple = mTable.getTripleContaining(index, i);
+      if (cardsInPlay.contains(mTable.getCard(triple, 0))
+          && cardsInPlay.contains(mTable.getCard(triple, 1))
+          && cardsInPlay.contains(mTable.getCard(triple, 2))
+          && !contains(triple)) {
+        mTriples[triple >>> 6] |= 1L << triple;
+        mSize++;
+      }
+    }
+  }
+
+  /** Forgets the triples that {@code card} was part of. */
+  void onCardRemoved(Card card) {
+    int index = card.index();
+    for (int i = 0; i < mTable.getTriplesPerCard(); i++) {
+      int triple = mTable.getTripleContaining(index, i);
+      if (contains(triple)) {
+        mTriples[triple >>> 6] &= ~(1L << triple);
+        mSize--;
+      }
+    }
+  }
+
+  boolean contains(int triple) {
+    return (mTriples[triple >>> 6] & (1L << triple)) != 0;
+  }
+
+  int size() {
+    return mSize;
+  }
+
+  boolean isEmpty() {
+    return mSize == 0;
+  }
+
+  /** Returns the lowest numbered triple at or after {@code triple}, or -1 if there isn't one. */
+  int next(int triple) {
+    if (triple >= mTable.getNumTriples()) {
+      return -1;
+    }
+    int word = triple >>> 6;
+    long bits = mTriples[word] & (-1L << triple);
+    while (bits == 0) {
+      if (++word == mTriples.length) {
+        return -1;
+      }
+      bits = mTriples[word];
+    }
+    return (word << 6) + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * Returns a triple that includes all of {@code cards}, or -1 if there isn't one. At most {@link
+   * CompletionTable#getTriplesPerCard} triples are looked at.
+   */
+  int findTripleContaining(Collection<Card> cards) {
+    if (cards.isEmpty()) {
+      return next(0);
+    }
+    int index = cards.iterator().next().index();
+    for (int i = 0; i < mTable.getTriplesPerCard(); i++) {
+      int triple = mTable.getTripleContaining(index, i);
+      if (contains(triple) && tripleContainsAll(triple, cards)) {
+        return triple;
+      }
+    }
+    return -1;
+  }
+
+  private boolean tripleContainsAll(int triple, Collection<Card> cards) {
+    for (Card card : cards) {
+      int index = card.index();
+      if (mTable.getCard(triple, 0) != index
+          && mTable.getCard(triple, 1) != index
+          && mTable.getCard(triple, 2) != index) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
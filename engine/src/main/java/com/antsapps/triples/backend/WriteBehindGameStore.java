@@ -0,0 +1,302 @@
+package com.antsapps.triples.backend;
+
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link GameStore} that writes to another store on a background thread, so saving a game never
+ * waits for the disk.
+ *
+ * <p>Each write takes a copy of the game, and waits in a queue with at most one write per game:
+ * saving a game again before the last save has been written replaces it, and removing a game that
+ * hasn't been written yet just drops it. The writer thread takes everything in the queue at once
+ * and writes it in a single transaction.
+ *
+ * <p>New games are given ids straight away, counting up from the largest id the underlying store
+ * has used when {@link #initialize} is called, and are stored with those ids when they're written.
+ * Loading or querying games waits for the queue to be written first, and {@link #flush} does the
+ * same for anything that needs everything on disk, such as the process being shut down.
+ *
+ * <p>If writing a batch fails, none of it is written, as it is a single transaction. The failure
+ * is logged and the batch goes back in the queue, ahead of anything saved since, to be tried again
+ * on the next save or flush.
+ */
+public final class WriteBehindGameStore implements GameStore {
+
+  private enum Kind {
+    ADD,
+    UPDATE,
+    REMOVE
+  }
+
+  private static final class Write<T extends Game> {
+    final Kind mKind;
+    final long mId;
+    /** A copy of the game to write, or null for a removal. */
+    final T mGame;
+
+    Write(Kind kind, long id, T game) {
+      mKind = kind;
+      mId = id;
+      mGame = game;
+    }
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(WriteBehindGameStore.class.getName());
+
+  private final GameStore mStore;
+
+  private final ExecutorService mExecutor =
+      Executors.newSingleThreadExecutor(
+          new ThreadFactoryBuilder().setNameFormat("GameStore writer").setDaemon(true).build());
+
+  private final Runnable mDrain =
+      new Runnable() {
+        @Override
+        public void run() {
+          drain();
+        }
+      };
+
+  /** Guards everything below. */
+  private final Object mLock = new Object();
+
+  /** The writes waiting to be written, by game id, in the order that the games were first saved. */
+  private Map<Long, Write<ClassicGame>> mClassicWrites = Maps.newLinkedHashMap();
+
+  private Map<Long, Write<ArcadeGame>> mArcadeWrites = Maps.newLinkedHashMap();
+
+  /** Whether the writer thread will take the queue without being asked again. */
+  private boolean mDrainScheduled;
+
+  private long mNextClassicId = 1;
+
+  private long mNextArcadeId = 1;
+
+  public WriteBehindGameStore(GameStore store) {
+    mStore = store;
+  }
+
+  /**
+   * Blocks until every write made so far has been written to the underlying store, or writing them
+   * has failed and they are back in the queue.
+   */
+  public void flush() {
+    Futures.getUnchecked(mExecutor.submit(mDrain));
+  }
+
+  @Override
+  public void initialize(List<GameSummary> classicGames, List<GameSummary> arcadeGames) {
+    flush();
+    mStore.initialize(classicGames, arcadeGames);
+    synchronized (mLock) {
+      mNextClassicId = Math.max(mNextClassicId, mStore.getMaxClassicGameId() + 1);
+      mNextArcadeId = Math.max(mNextArcadeId, mStore.getMaxArcadeGameId() + 1);
+    }
+  }
+
+  @Override
+  public long getMaxClassicGameId() {
+    synchronized (mLock) {
+      return mNextClassicId - 1;
+    }
+  }
+
+  @Override
+  public long getMaxArcadeGameId() {
+    synchronized (mLock) {
+      return mNextArcadeId - 1;
+    }
+  }
+
+  /** Runs {@code writes} straight away. They're queued like any other writes to this store. */
+  @Override
+  public void runInTransaction(Runnable writes) {
+    writes.run();
+  }
+
+  @Override
+  public ClassicGame loadClassicGame(long id) {
+    flush();
+    return mStore.loadClassicGame(id);
+  }
+
+  @Override
+  public long addClassicGame(ClassicGame game) {
+    ClassicGame copy = game.copy();
+    synchronized (mLock) {
+      copy.setId(mNextClassicId++);
+      enqueue(mClassicWrites, new Write<ClassicGame>(Kind.ADD, copy.getId(), copy));
+    }
+    return copy.getId();
+  }
+
+  @Override
+  public void updateClassicGame(ClassicGame game) {
+    ClassicGame copy = game.copy();
+    synchronized (mLock) {
+      enqueue(mClassicWrites, new Write<ClassicGame>(Kind.UPDATE, copy.getId(), copy));
+    }
+  }
+
+  @Override
+  public void removeClassicGame(long id) {
+    synchronized (mLock) {
+      enqueue(mClassicWrites, new Write<ClassicGame>(Kind.REMOVE, id, null));
+    }
+  }
+
+  @Override
+  public List<GameSummary> getCompletedClassicGames(Period period) {
+    flush();
+    return mStore.getCompletedClassicGames(period);
+  }
+
+  @Override
+  public StatisticsTotals getClassicTotals(Period period) {
+    flush();
+    return mStore.getClassicTotals(period);
+  }
+
+  @Override
+  public ArcadeGame loadArcadeGame(long id) {
+    flush();
+    return mStore.loadArcadeGame(id);
+  }
+
+  @Override
+  public long addArcadeGame(ArcadeGame game) {
+    ArcadeGame copy = game.copy();
+    synchronized (mLock) {
+      copy.setId(mNextArcadeId++);
+      enqueue(mArcadeWrites, new Write<ArcadeGame>(Kind.ADD, copy.getId(), copy));
+    }
+    return copy.getId();
+  }
+
+  @Override
+  public void updateArcadeGame(ArcadeGame game) {
+    ArcadeGame copy = game.copy();
+    synchronized (mLock) {
+      enqueue(mArcadeWrites, new Write<ArcadeGame>(Kind.UPDATE, copy.getId(), copy));
+    }
+  }
+
+  @Override
+  public void removeArcadeGame(long id) {
+    synchronized (mLock) {
+      enqueue(mArcadeWrites, new Write<ArcadeGame>(Kind.REMOVE, id, null));
+    }
+  }
+
+  @Override
+  public List<GameSummary> getCompletedArcadeGames(Period period) {
+    flush();
+    return mStore.getCompletedArcadeGames(period);
+  }
+
+  @Override
+  public StatisticsTotals getArcadeTotals(Period period) {
+    flush();
+    return mStore.getArcadeTotals(period);
+  }
+
+  /** Queues a write and makes sure the writer thread will take it. Must hold {@link #mLock}. */
+  private <T extends Game> void enqueue(Map<Long, Write<T>> writes, Write<T> write) {
+    merge(writes, write);
+    if (!mDrainScheduled) {
+      mDrainScheduled = true;
+      mExecutor.execute(mDrain);
+    }
+  }
+
+  /** Puts a write in place of any waiting write for the same game. */
+  private static <T extends Game> void merge(Map<Long, Write<T>> writes, Write<T> write) {
+    Write<T> waiting = writes.get(write.mId);
+    if (waiting != null && waiting.mKind == Kind.ADD) {
+      // The game hasn't been stored yet, so it still has to be added, or not at all.
+      if (write.mKind == Kind.REMOVE) {
+        writes.remove(write.mId);
+        return;
+      }
+      write = new Write<T>(Kind.ADD, write.mId, write.mGame);
+    }
+    writes.put(write.mId, write);
+  }
+
+  /**
+   * Puts writes that failed back in the queue, with any writes queued since they were taken
+   * applied on top. Must hold {@link #mLock}.
+   */
+  private static <T extends Game> Map<Long, Write<T>> requeue(
+      Map<Long, Write<T>> failed, Map<Long, Write<T>> queued) {
+    for (Write<T> write : queued.values()) {
+      merge(failed, write);
+    }
+    return failed;
+  }
+
+  /** Writes everything in the queue in one transaction. Only called on the writer thread. */
+  private void drain() {
+    final Map<Long, Write<ClassicGame>> classicWrites;
+    final Map<Long, Write<ArcadeGame>> arcadeWrites;
+    synchronized (mLock) {
+      classicWrites = mClassicWrites;
+      arcadeWrites = mArcadeWrites;
+      mClassicWrites = Maps.newLinkedHashMap();
+      mArcadeWrites = Maps.newLinkedHashMap();
+      mDrainScheduled = false;
+    }
+    if (classicWrites.isEmpty() && arcadeWrites.isEmpty()) {
+      return;
+    }
+    try {
+      mStore.runInTransaction(
+          new Runnable() {
+            @Override
+            public void run() {
+              for (Write<ClassicGame> write : classicWrites.values()) {
+                switch (write.mKind) {
+                  case ADD:
+                    mStore.addClassicGame(write.mGame);
+                    break;
+                  case UPDATE:
+                    mStore.updateClassicGame(write.mGame);
+                    break;
+                  case REMOVE:
+                    mStore.removeClassicGame(write.mId);
+                    break;
+                }
+              }
+              for (Write<ArcadeGame> write : arcadeWrites.values()) {
+                switch (write.mKind) {
+                  case ADD:
+                    mStore.addArcadeGame(write.mGame);
+                    break;
+                  case UPDATE:
+                    mStore.updateArcadeGame(write.mGame);
+                    break;
+                  case REMOVE:
+                    mStore.removeArcadeGame(write.mId);
+                    break;
+                }
+              }
+            }
+          });
+    } catch (RuntimeException e) {
+      LOGGER.log(Level.WARNING, "Couldn't write games, will try again", e);
+      synchronized (mLock) {
+        mClassicWrites = requeue(classicWrites, mClassicWrites);
+        mArcadeWrites = requeue(arcadeWrites, mArcadeWrites);
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package com.antsapps.triples.backend;
+
+import java.util.Random;
+
+/**
+ * An endless source of cards, for {@link ZenGame}. Each card is made up when it's dealt rather
+ * than taken from a shuffled deck, so the source never runs out and takes no more memory however
+ * long the game goes on.
+ *
+ * <p>Cards are picked at random from those not in play, except for the card that brings the board
+ * up to {@link Game#MIN_CARDS_IN_PLAY}: if there's no valid triple on the board by then, it's the
+ * card that completes a random pair. That card can't be in play, as otherwise there would already
+ * be a triple, so every board of {@link Game#MIN_CARDS_IN_PLAY} cards has a triple and extra cards
+ * are never dealt. The board's own presence set and triple index are used for the checks, so each
+ * card takes expected constant time.
+ */
+final class ZenCardSource implements CardSource {
+
+  private final Random mRandom;
+
+  ZenCardSource(Random random) {
+    mRandom = random;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return false;
+  }
+
+  @Override
+  public Card getNextCard(Board board) {
+    if (board.size() == Game.MIN_CARDS_IN_PLAY - 1 && board.getValidTriples().isEmpty()) {
+      Card first = randomCardInPlay(board);
+      Card second;
+      do {
+        second = randomCardInPlay(board);
+      } while (second == first);
+      return board.getCompletionTable().complete(first, second);
+    }
+    // At most MAX_CARDS_IN_PLAY of the cards are in play, so this takes fewer than 1.4 tries on
+    // average.
+    CardSpace cardSpace = board.getCardSpace();
+    int card;
+    do {
+      card = mRandom.nextInt(cardSpace.getNumCards());
+    } while (board.getCards().contains(card));
+    return cardSpace.getCard(card);
+  }
+
+  /** Returns a random card from the board's slots, some of which may be empty mid-deal. */
+  private Card randomCardInPlay(Board board) {
+    Card card;
+    do {
+      card = board.get(mRandom.nextInt(board.getNumSlots()));
+    } while (card == null);
+    return card;
+  }
+}
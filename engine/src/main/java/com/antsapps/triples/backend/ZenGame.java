@@ -0,0 +1,82 @@
+package com.antsapps.triples.backend;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Random;
+
+/**
+ * An endless game with no timer limit and no deck to run out: cards are dealt by a {@link
+ * ZenCardSource}, so there are always {@link #MIN_CARDS_IN_PLAY} cards in play with at least one
+ * valid triple. It only ends when the player calls {@link #end}.
+ *
+ * <p>Zen games aren't saved, so they're only ever created from a seed.
+ */
+public class ZenGame extends Game {
+
+  public static final String GAME_TYPE_FOR_ANALYTICS = "zen";
+
+  private int mNumTriplesFound;
+
+  /** Creates a game whose timer doesn't tick, for running games with nothing to display. */
+  public static ZenGame createFromSeed(long seed) {
+    return createFromSeed(seed, Clock.SYSTEM);
+  }
+
+  public static ZenGame createFromSeed(long seed, Clock clock) {
+    ZenGame game = new ZenGame(seed, clock);
+    game.init();
+    return game;
+  }
+
+  private ZenGame(long seed, Clock clock) {
+    super(
+        -1,
+        seed,
+        Collections.<Card>emptyList(),
+        Deck.fromByteArray(new byte[0]),
+        new ZenCardSource(new Random(seed)),
+        0,
+        new Date(),
+        GameState.STARTING,
+        clock);
+  }
+
+  /**
+   * A game is in a valid state if it is completed, or if it is not completed and there are {@link
+   * #MIN_CARDS_IN_PLAY} cards in play and at least one valid triple.
+   */
+  @Override
+  protected boolean isGameInValidState() {
+    switch (mGameState) {
+      case COMPLETED:
+        return true;
+      case PAUSED:
+      case ACTIVE:
+      case STARTING:
+        return checkIfAnyValidTriples() && mBoard.size() == MIN_CARDS_IN_PLAY;
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public void commitTriple(Card... cards) {
+    super.commitTriple(cards);
+
+    mNumTriplesFound++;
+  }
+
+  /** Ends the game, which otherwise goes on forever. */
+  public void end() {
+    finish();
+  }
+
+  @Override
+  public String getGameTypeForAnalytics() {
+    return GAME_TYPE_FOR_ANALYTICS;
+  }
+
+  public int getNumTriplesFound() {
+    return mNumTriplesFound;
+  }
+}